@@ -0,0 +1,57 @@
+package com.productcatalog.benchmark;
+
+import com.productcatalog.security.AuthTokenFilter;
+import com.productcatalog.security.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthTokenFilterBenchmark {
+    
+    private AuthTokenFilter filter;
+    private JwtUtils jwtUtils;
+    private String authorization;
+    
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils();
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        authorization = "Bearer " + jwtUtils.generateJwtToken("admin");
+    }
+    
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        return filter(authorization);
+    }
+    
+    @Benchmark
+    public Object authenticatedRequestUncached() throws Exception {
+        jwtUtils.getVerifiedTokenCache().invalidateAll();
+        return filter(authorization);
+    }
+    
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        return filter(null);
+    }
+    
+    private Object filter(String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        if (header != null) {
+            request.addHeader("Authorization", header);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
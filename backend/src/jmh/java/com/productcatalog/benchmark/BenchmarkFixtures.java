@@ -0,0 +1,90 @@
+package com.productcatalog.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.productcatalog.dto.ProductRequest;
+import com.productcatalog.entity.Product;
+import com.productcatalog.security.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Shared setup for the benchmarks: deterministic synthetic catalog data and pre-wired components
+final class BenchmarkFixtures {
+    
+    static final String JWT_SECRET = "myVeryLongSecretKeyThatIsAtLeast256BitsLongForSecureJwtEncoding";
+    
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Home", "Garden", "Toys", "Sports", "Clothing", "Beauty"};
+    private static final String[] ADJECTIVES = {"Wireless", "Compact", "Deluxe", "Portable", "Smart", "Classic", "Ultra", "Eco"};
+    private static final String[] NOUNS = {"Speaker", "Lamp", "Backpack", "Keyboard", "Blender", "Jacket", "Novel", "Drone"};
+    private static final String[] SUPPLIERS = {"Acme", "Globex", "Initech", "Umbrella", "Stark", "Wayne"};
+    
+    private BenchmarkFixtures() {}
+    
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+    
+    // Configured like the application's ObjectMapper (ISO dates, java.time support)
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    }
+    
+    // The same configuration over a json, smile or cbor factory, as BinaryFormatsConfig does
+    static ObjectMapper objectMapper(String format) {
+        return switch (format) {
+            case "smile" -> objectMapper().copyWith(new SmileFactory());
+            case "cbor" -> objectMapper().copyWith(new CBORFactory());
+            default -> objectMapper();
+        };
+    }
+    
+    static List<ProductRequest> productRequests(int count) {
+        Random random = new Random(42);
+        List<ProductRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            requests.add(new ProductRequest(
+                adjective + " " + noun + " " + i,
+                CATEGORIES[random.nextInt(CATEGORIES.length)],
+                "The " + adjective.toLowerCase() + " " + noun.toLowerCase() + " model " + i
+                    + " with a long marketing description that is never shown in the grid view.",
+                BigDecimal.valueOf(100 + random.nextInt(99900), 2),
+                random.nextInt(500),
+                SUPPLIERS[random.nextInt(SUPPLIERS.length)]
+            ));
+        }
+        return requests;
+    }
+    
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        long id = 1;
+        for (ProductRequest request : productRequests(count)) {
+            Product product = new Product(request.getProductName(), request.getCategory(), request.getDescription(),
+                request.getPrice(), request.getStockQuantity(), request.getSupplier());
+            product.setId(id++);
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
+            products.add(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,39 @@
+package com.productcatalog.benchmark;
+
+import com.productcatalog.security.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtBenchmark {
+    
+    private JwtUtils jwtUtils;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtils = BenchmarkFixtures.jwtUtils();
+        token = jwtUtils.generateJwtToken("admin");
+    }
+    
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken("admin");
+    }
+    
+    // Repeat request from the same session: served by the verified-token cache
+    @Benchmark
+    public boolean validateJwtTokenCached() {
+        return jwtUtils.validateJwtToken(token);
+    }
+    
+    // Full parse + HMAC verification on every call
+    @Benchmark
+    public boolean validateJwtTokenUncached() {
+        jwtUtils.getVerifiedTokenCache().invalidateAll();
+        return jwtUtils.validateJwtToken(token);
+    }
+}
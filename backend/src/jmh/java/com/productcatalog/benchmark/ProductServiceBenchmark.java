@@ -0,0 +1,79 @@
+package com.productcatalog.benchmark;
+
+import com.productcatalog.ProductCatalogApplication;
+import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.service.ProductIngestService;
+import com.productcatalog.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+// ProductService against an embedded H2 database (MySQL mode) seeded with synthetic products
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProductServiceBenchmark {
+    
+    @Param({"10000"})
+    public int products;
+    
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private int deepPage;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductCatalogApplication.class)
+            .web(WebApplicationType.NONE)
+            // Passed as arguments so they override application.properties
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.productcatalog=WARN",
+                "--logging.level.org.springframework.security=WARN");
+        
+        context.getBean(ProductIngestService.class)
+            .ingest(BenchmarkFixtures.productRequests(products).iterator());
+        productService = context.getBean(ProductService.class);
+        deepPage = products / 20 / 2;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Page<ProductResponse> firstPage() {
+        return productService.getAllProducts("", null, 0, 20, "id", "asc");
+    }
+    
+    @Benchmark
+    public Page<ProductResponse> deepPageByPrice() {
+        return productService.getAllProducts("", null, deepPage, 20, "price", "desc");
+    }
+    
+    @Benchmark
+    public Page<ProductResponse> categoryFilter() {
+        return productService.getAllProducts("", "Electronics", 0, 20, "id", "asc");
+    }
+    
+    @Benchmark
+    public Page<ProductResponse> search() {
+        return productService.getAllProducts("wireless spea", null, 0, 20, "id", "asc");
+    }
+    
+    @Benchmark
+    public ProductResponse productById() {
+        return productService.getProductById(1L);
+    }
+}
@@ -0,0 +1,116 @@
+package com.productcatalog.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.ProductCatalogApplication;
+import com.productcatalog.service.ProductIngestService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Load test over HTTP: many concurrent clients against the running app, comparing Tomcat's
+// bounded platform thread pool with virtual threads (which also turns on the connection guard).
+// The "mixed" group runs database-backed list pages next to cache-served detail reads, so it
+// shows whether requests that need no connection get stuck behind those that do.
+// Throughput and p99 come from the two modes, e.g.
+//   -Djmh.args="-f 1 -wi 2 -i 3 -bm thrpt,sample RequestThreadingBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestThreadingBenchmark {
+
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Home", "Garden"};
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    @Param({"10000"})
+    public int products;
+
+    // Tomcat worker pool in platform mode (Spring Boot's default)
+    @Param({"200"})
+    public int tomcatThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(ProductCatalogApplication.class)
+            // Passed as arguments so they override application.properties
+            .run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threading),
+                // All clients share one address, so per-IP limits would reject most of the load
+                "--catalog.rate-limit.enabled=false",
+                // Measures the threading models themselves, so nothing may be shed
+                "--catalog.load-shedding.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.productcatalog=WARN",
+                "--logging.level.org.springframework.security=WARN");
+
+        context.getBean(ProductIngestService.class)
+            .ingest(BenchmarkFixtures.productRequests(products).iterator());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+            .build();
+        JsonNode response = new ObjectMapper().readTree(client.send(login, HttpResponse.BodyHandlers.ofString()).body());
+        authorization = "Bearer " + response.get("token").asText();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(128)
+    public int listPage() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        return get("/products?category=" + category + "&page=" + random.nextInt(20) + "&size=20&sortBy=price");
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(128)
+    public int productDetail() throws IOException, InterruptedException {
+        return get("/products/" + (1 + ThreadLocalRandom.current().nextInt(100)));
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", authorization)
+            .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,50 @@
+package com.productcatalog.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.entity.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+    
+    @Param({"10", "100"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+    private Page<ProductResponse> page;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        products = BenchmarkFixtures.products(pageSize);
+        page = new PageImpl<>(products.stream().map(ProductResponse::new).toList(),
+            PageRequest.of(0, pageSize), 10_000);
+    }
+    
+    @Benchmark
+    public List<ProductResponse> mapProductResponses() {
+        return products.stream().map(ProductResponse::new).toList();
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public byte[] mapAndSerializePage() throws Exception {
+        Page<ProductResponse> mapped = new PageImpl<>(products, PageRequest.of(0, pageSize), 10_000)
+            .map(ProductResponse::new);
+        return objectMapper.writeValueAsBytes(mapped);
+    }
+}
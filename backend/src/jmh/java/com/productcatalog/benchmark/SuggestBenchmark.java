@@ -0,0 +1,56 @@
+package com.productcatalog.benchmark;
+
+import com.productcatalog.dto.Suggestion;
+import com.productcatalog.entity.Product;
+import com.productcatalog.service.SuggestionIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Top-10 typeahead latency per keystroke; the target is well under a millisecond
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestBenchmark {
+    
+    @Param({"100000"})
+    public int products;
+    
+    private SuggestionIndex suggestionIndex;
+    private int nextId;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        suggestionIndex = new SuggestionIndex();
+        for (Product product : BenchmarkFixtures.products(products)) {
+            suggestionIndex.index(product);
+        }
+        suggestionIndex.markReady();
+    }
+    
+    // First keystroke: served from the prefix's maintained top list
+    @Benchmark
+    public List<Suggestion> oneCharacter() {
+        return suggestionIndex.suggest("s", 10);
+    }
+    
+    // Stock write on a matching product followed by the keystroke
+    @Benchmark
+    public List<Suggestion> oneCharacterAfterWrite() {
+        suggestionIndex.updateStock(1L + (nextId++ % products), nextId % 500);
+        return suggestionIndex.suggest("s", 10);
+    }
+    
+    // Third keystroke: a large range, also answered from a node
+    @Benchmark
+    public List<Suggestion> threeCharacters() {
+        return suggestionIndex.suggest("spe", 10);
+    }
+    
+    // Narrow range below the node threshold: scanned per request
+    @Benchmark
+    public List<Suggestion> twoWords() {
+        return suggestionIndex.suggest("smart spe", 10);
+    }
+}
@@ -0,0 +1,49 @@
+package com.productcatalog.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// JSON vs Smile vs CBOR for a Page<ProductResponse>: encode cost, decode cost and, printed at
+// setup, bytes on the wire. Run with e.g. -Djmh.args="-prof gc WireFormatBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+    
+    @Param({"json", "smile", "cbor"})
+    public String format;
+    
+    @Param({"100", "1000"})
+    public int pageSize;
+    
+    private ObjectMapper objectMapper;
+    private Page<ProductResponse> page;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper(format);
+        page = new PageImpl<>(BenchmarkFixtures.products(pageSize).stream().map(ProductResponse::new).toList(),
+            PageRequest.of(0, pageSize), 100_000);
+        encoded = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s page of %d: %d bytes (%d per product)%n",
+            format, pageSize, encoded.length, encoded.length / pageSize);
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+    
+    @Benchmark
+    public JsonNode parsePage() throws Exception {
+        return objectMapper.readTree(encoded);
+    }
+}
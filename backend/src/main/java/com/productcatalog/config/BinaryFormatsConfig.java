@@ -0,0 +1,25 @@
+package com.productcatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Smile (application/x-jackson-smile) and CBOR (application/cbor) for clients that ask for them
+// in Accept. Both reuse the JSON mapper's configuration, so the fields and date formats match JSON.
+@Configuration
+public class BinaryFormatsConfig {
+    
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+    
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.productcatalog.config;
+
+import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ProductRepository;
+import com.productcatalog.service.CategoryCounters;
+import com.productcatalog.service.ProductSearchIndex;
+import com.productcatalog.service.SuggestionIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Loads the in-memory indexes during startup, before the web server accepts requests and before
+// scheduled tasks run. No write can commit while a batch is being indexed, so a row read before a
+// concurrent update or delete can never be indexed after that write and bring back its old state.
+@Component
+public class CatalogIndexInitializer implements SmartLifecycle {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private CategoryCounters categoryCounters;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Value("${catalog.search.index.enabled:true}")
+    private boolean indexEnabled;
+
+    @Value("${catalog.index.load-batch-size:1000}")
+    private int batchSize;
+
+    private volatile boolean running = false;
+
+    @Override
+    public void start() {
+        load();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Ahead of the web server, which starts one step after graceful shutdown's phase
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void load() {
+        categoryCounters.reload();
+        System.out.println("✅ Category counters seeded with " + categoryCounters.total() + " products");
+
+        if (!indexEnabled) {
+            System.out.println("Search index disabled, product search uses the database");
+            return;
+        }
+
+        // Walk the table by id so each batch is a cheap range scan
+        long lastId = 0L;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+            for (Product product : batch) {
+                searchIndex.index(product);
+                suggestionIndex.index(product);
+                lastId = product.getId();
+            }
+        } while (batch.size() == batchSize);
+
+        searchIndex.markReady();
+        suggestionIndex.markReady();
+        System.out.println("✅ Search index loaded with " + searchIndex.size() + " products");
+    }
+}
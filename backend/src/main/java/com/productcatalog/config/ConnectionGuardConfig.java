@@ -0,0 +1,61 @@
+package com.productcatalog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+
+// Wraps the Hikari pool in a ConnectionGuardDataSource. On by default whenever
+// virtual threads are, since that is when request concurrency stops being bounded.
+@Configuration
+@ConditionalOnProperty(name = "catalog.db.guard.enabled", havingValue = "true")
+public class ConnectionGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionGuardPostProcessor(
+            @Value("${catalog.db.guard.max-concurrency:0}") int maxConcurrency,
+            @Value("${catalog.db.guard.acquire-timeout-ms:10000}") long acquireTimeoutMs,
+            @Value("${catalog.db.guard.max-waiting:1000}") int maxWaiting) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // 0 means "as many as the pool has connections"; Hikari reports -1 until
+                    // the pool starts and then applies its default of 10
+                    int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+                    int limit = maxConcurrency > 0 ? maxConcurrency : poolSize;
+                    System.out.println("✅ Connection guard enabled: " + limit + " concurrent, " + maxWaiting + " waiting");
+                    return new ConnectionGuardDataSource(hikari, limit, acquireTimeoutMs, maxWaiting);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionGuardMetrics(DataSource dataSource) {
+        // With read replicas the primary guard sits behind the routing proxy and the write tracker
+        DataSource target = dataSource;
+        while (!(target instanceof ConnectionGuardDataSource) && target instanceof DelegatingDataSource proxy) {
+            target = proxy.getTargetDataSource();
+        }
+        DataSource guarded = target;
+        return registry -> {
+            if (guarded instanceof ConnectionGuardDataSource guard) {
+                Gauge.builder("catalog.db.guard.active", guard, ConnectionGuardDataSource::getActive)
+                    .description("Connections checked out through the connection guard")
+                    .register(registry);
+                Gauge.builder("catalog.db.guard.waiting", guard, ConnectionGuardDataSource::getWaiting)
+                    .description("Threads waiting for a connection guard permit")
+                    .register(registry);
+            }
+        };
+    }
+}
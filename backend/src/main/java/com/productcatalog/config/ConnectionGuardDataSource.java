@@ -0,0 +1,114 @@
+package com.productcatalog.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many threads may hold or wait for a pooled JDBC connection.
+ * With virtual threads every request has its own thread, so a load spike can park
+ * thousands of them inside the pool until they all time out together; here callers
+ * wait on a fair semaphore instead and are turned away as soon as the queue is full.
+ */
+public class ConnectionGuardDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutMs;
+    private final int maxWaiting;
+
+    public ConnectionGuardDataSource(DataSource target, int maxConcurrency, long acquireTimeoutMs, int maxWaiting) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guarded(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            throw new SQLTransientConnectionException(
+                "Too many requests waiting for a database connection (" + maxWaiting + ")");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Timed out after " + acquireTimeoutMs + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    // Hands the permit back when the caller closes (returns) the connection, once
+    private Connection guarded(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                boolean closing = "close".equals(method.getName()) && released.compareAndSet(false, true);
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                } finally {
+                    if (closing) {
+                        permits.release();
+                    }
+                }
+            });
+    }
+}
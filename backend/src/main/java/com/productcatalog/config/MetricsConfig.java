@@ -0,0 +1,52 @@
+package com.productcatalog.config;
+
+import com.productcatalog.security.JwtUtils;
+import com.productcatalog.service.CategoryCounters;
+import com.productcatalog.service.ListResponseCache;
+import com.productcatalog.service.ProductCache;
+import com.productcatalog.service.ProductSearchIndex;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// HTTP endpoints, Spring Data repository calls and the Hikari pool are instrumented by
+// Spring Boot; this adds @Timed support and the application's own caches and indexes.
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+    
+    @Bean
+    public MeterBinder productCacheMetrics(ProductCache productCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, productCache.getNativeCache(), "productDetails");
+    }
+    
+    @Bean
+    public MeterBinder listResponseCacheMetrics(ListResponseCache listResponseCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, listResponseCache.getNativeCache(), "listResponses");
+    }
+    
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(JwtUtils jwtUtils) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, jwtUtils.getVerifiedTokenCache(), "verifiedTokens");
+    }
+    
+    @Bean
+    public MeterBinder catalogIndexMetrics(ProductSearchIndex searchIndex, CategoryCounters categoryCounters) {
+        return registry -> {
+            Gauge.builder("catalog.search.index.documents", searchIndex, ProductSearchIndex::size)
+                .description("Products held in the in-memory search index")
+                .register(registry);
+            Gauge.builder("catalog.products", categoryCounters, CategoryCounters::total)
+                .description("Products counted by the in-memory category counters")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.productcatalog.config;
+
+import com.productcatalog.service.SharedReads;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Sends read-only transactions to replicas and everything else to the primary. The lazy proxy
+// only fetches a real connection at the first statement, once the transaction's read-only
+// flag is known (and never, for transactions served entirely from memory).
+@Configuration
+@ConditionalOnProperty(name = "catalog.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // Built from spring.datasource.* as Boot would have; still wrapped by the connection guard
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            DataSourceProperties properties,
+            @Value("${catalog.datasource.replicas.urls}") String[] urls,
+            @Value("${catalog.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${catalog.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${catalog.datasource.replicas.pool-size:10}") int poolSize,
+            @Value("${catalog.datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${catalog.datasource.replicas.check-interval-ms:1000}") long checkIntervalMs,
+            @Value("${catalog.datasource.replicas.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${catalog.db.guard.enabled:false}") boolean guardEnabled,
+            @Value("${catalog.db.guard.acquire-timeout-ms:10000}") long acquireTimeoutMs,
+            @Value("${catalog.db.guard.max-waiting:1000}") int maxWaiting) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(urls[i].trim())
+                .username(username)
+                .password(password)
+                .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            // Replica pools are not beans, so the guard's post-processor never sees them
+            DataSource dataSource = guardEnabled
+                ? new ConnectionGuardDataSource(pool, poolSize, acquireTimeoutMs, maxWaiting)
+                : pool;
+            replicas.add(new ReplicaRoutingDataSource.Replica("replica-" + i, pool, dataSource));
+        }
+        System.out.println("✅ Read replicas enabled: " + replicas.size() + " (max lag " + maxLagSeconds + "s)");
+        return new ReplicaRoutingDataSource(primary, replicas, ReplicaRoutingConfig::currentClient,
+            SharedReads::isActive, maxLagSeconds, checkIntervalMs, lagQuery);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaDataSource.writeDataSource());
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    // Writers are admins signed in with a JWT; anonymous readers never need their own writes
+    private static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaRoutingDataSource replicaDataSource) {
+        return registry -> {
+            for (ReplicaRoutingDataSource.Replica replica : replicaDataSource.getReplicas()) {
+                Gauge.builder("catalog.db.replica.lag", replica, r -> r.getLagSeconds() < 0 ? Double.NaN : r.getLagSeconds())
+                    .description("Last measured replication lag in seconds (NaN when unknown or stopped)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            }
+            FunctionCounter.builder("catalog.db.replica.primary_reads", replicaDataSource, ReplicaRoutingDataSource::getPrimaryReads)
+                .description("Read-only connections served by the primary because no replica was fresh enough")
+                .register(registry);
+        };
+    }
+}
@@ -0,0 +1,228 @@
+package com.productcatalog.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Connections for read-only transactions. Replicas are used round-robin while their
+ * measured lag is within max-lag; otherwise the primary serves the read. Freshness is
+ * tracked per client: a client that wrote recently reads from a replica only once that
+ * replica's measured lag says it has the write, so it always sees its own changes, while
+ * everyone else keeps reading from replicas however often the catalog is written.
+ * Shared reads (see SharedReads) fill caches for every client, so they go to a replica
+ * only once it has caught up with the last write by anyone, and never while one is open.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Supplier<String> client;
+    private final BooleanSupplier sharedRead;
+    private final long maxLagSeconds;
+    private final long checkIntervalMs;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryReads = new LongAdder();
+
+    // Commit time of each client's last write, kept as long as any usable replica could miss it
+    private final Cache<String, Long> lastWrites;
+
+    // The same for writes by anyone, and the write transactions still open
+    private volatile long lastCatalogWrite;
+    private final AtomicInteger openWrites = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Supplier<String> client,
+                                    BooleanSupplier sharedRead, long maxLagSeconds, long checkIntervalMs,
+                                    String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.client = client;
+        this.sharedRead = sharedRead;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMs = checkIntervalMs;
+        this.lagQuery = lagQuery;
+        this.lastWrites = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMillis(behindMs(maxLagSeconds)))
+            .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long lastWrite;
+        if (sharedRead.getAsBoolean()) {
+            lastWrite = openWrites.get() > 0 ? Long.MAX_VALUE : lastCatalogWrite;
+        } else {
+            String name = client.get();
+            lastWrite = name == null ? null : lastWrites.getIfPresent(name);
+        }
+        long now = System.currentTimeMillis();
+
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isUsable(maxLagSeconds)
+                    || (lastWrite != null && now - lastWrite < behindMs(replica.lagSeconds))) {
+                continue;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                // Out of rotation until the next lag check succeeds
+                replica.lagSeconds = -1;
+                logger.warn("Replica " + replica.name() + " unavailable, reading from the primary: " + e.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    // How far behind the primary a replica measured at this lag may be by now. The lag is
+    // reported in whole seconds and may have grown by up to one check interval since.
+    private long behindMs(long lagSeconds) {
+        return (lagSeconds + 1) * 1000 + checkIntervalMs;
+    }
+
+    // The primary for read-write transactions, noting who wrote, when it committed, and
+    // which transactions are still open (their commit time is not known yet)
+    public DataSource writeDataSource() {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                String name = client.get();
+                recordWrite(name);
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    openWrites.incrementAndGet();
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            recordWrite(name);
+                            openWrites.decrementAndGet();
+                        }
+                    });
+                }
+                return super.getConnection();
+            }
+        };
+    }
+
+    private void recordWrite(String name) {
+        long now = System.currentTimeMillis();
+        lastCatalogWrite = now;
+        if (name != null) {
+            lastWrites.put(name, now);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials are fixed by configuration");
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.datasource.replicas.check-interval-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try {
+                replica.lagSeconds = measureLag(replica.dataSource());
+            } catch (SQLException e) {
+                replica.lagSeconds = -1;
+                logger.warn("Could not measure lag of replica " + replica.name() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // SHOW REPLICA STATUS (needs REPLICATION CLIENT) or any query returning the lag in seconds
+    // as its first column. No row means the server replicates from nowhere, as a local copy.
+    private long measureLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(lagQuery)) {
+            if (!rows.next()) {
+                return 0;
+            }
+            Object lag = rows.getObject(lagColumn(rows.getMetaData()));
+            // NULL while the replication threads are stopped
+            return lag instanceof Number seconds ? seconds.longValue() : -1;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            String name = metaData.getColumnLabel(i);
+            if ("Seconds_Behind_Source".equalsIgnoreCase(name) || "Seconds_Behind_Master".equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool().close());
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource pool;
+        private final DataSource dataSource;
+
+        // -1 until measured, and while the replica cannot be reached or is not replicating
+        volatile long lagSeconds = -1;
+
+        public Replica(String name, HikariDataSource pool, DataSource dataSource) {
+            this.name = name;
+            this.pool = pool;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        HikariDataSource pool() {
+            return pool;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+
+        public long getLagSeconds() {
+            return lagSeconds;
+        }
+
+        boolean isUsable(long maxLagSeconds) {
+            long lag = lagSeconds;
+            return lag >= 0 && lag <= maxLagSeconds;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.productcatalog.controller;
 
 import com.productcatalog.dto.LoginRequest;
 import com.productcatalog.dto.LoginResponse;
+import com.productcatalog.security.RateLimitExceededException;
 import com.productcatalog.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,9 @@ public class AuthController {
             System.out.println("Login request received: " + loginRequest.getUsername());
             LoginResponse loginResponse = authService.authenticateUser(loginRequest);
             return ResponseEntity.ok(loginResponse);
+        } catch (RateLimitExceededException e) {
+            System.out.println("Login throttled: " + e.getMessage());
+            throw e;
         } catch (RuntimeException e) {
             System.out.println("Login failed: " + e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -1,46 +1,249 @@
 package com.productcatalog.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.productcatalog.dto.BatchResponse;
+import com.productcatalog.dto.CacheStatsResponse;
+import com.productcatalog.dto.ChangeFeedResponse;
+import com.productcatalog.dto.FacetResponse;
+import com.productcatalog.dto.PriceBatchRequest;
+import com.productcatalog.dto.PriceBatchResponse;
 import com.productcatalog.dto.ProductRequest;
 import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.dto.StockAdjustmentRequest;
+import com.productcatalog.dto.StockAdjustmentResponse;
+import com.productcatalog.dto.StockBatchRequest;
+import com.productcatalog.dto.StockReservationRequest;
+import com.productcatalog.dto.Suggestion;
+import com.productcatalog.service.CatalogVersion;
+import com.productcatalog.service.ListResponseCache;
+import com.productcatalog.service.ProductCache;
+import com.productcatalog.service.ProductExportService;
+import com.productcatalog.service.ProductIngestService;
 import com.productcatalog.service.ProductService;
+import com.productcatalog.service.SharedReads;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/products")
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class ProductController {
     
+    private static final Set<String> LIST_FIELDS = Set.of(
+        "id", "productName", "category", "description", "price", "stockQuantity", "supplier", "createdAt", "updatedAt");
+    
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private ProductIngestService productIngestService;
+    
+    @Autowired
+    private ProductExportService productExportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CatalogVersion catalogVersion;
+    
+    @Autowired
+    private ListResponseCache listResponseCache;
+    
+    @Value("${catalog.export.timeout-ms:1800000}")
+    private long exportTimeoutMs = 1800000;
+    
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> getAllProducts(
+    public ResponseEntity<?> getAllProducts(
             @RequestParam(defaultValue = "") String search,
             @RequestParam(required = false) String category,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) List<String> fields,
+            @RequestHeader HttpHeaders headers,
+            WebRequest webRequest) {
+        
+        if (!"full".equals(view) && !"summary".equals(view)) {
+            throw new IllegalArgumentException("Unsupported view: " + view);
+        }
+        if (fields != null && !LIST_FIELDS.containsAll(fields)) {
+            throw new IllegalArgumentException("Unknown field in fields; supported: " + LIST_FIELDS);
+        }
+        // The summary query skips description, so use it whenever the requested fields allow
+        boolean summary = "summary".equals(view) || (fields != null && ProductSummary.FIELDS.containsAll(fields));
+        
+        // Read the version before querying so a concurrent write can only make the ETag older, never newer
+        long version = catalogVersion.current();
+        String etag = catalogVersion.etag();
+        long lastModified = catalogVersion.lastModified();
+        
+        // Cached for everyone and tagged with the version, so never read from a replica behind it
+        Supplier<Object> body = () -> SharedReads.run(() -> {
+            Object result;
+            // Presence of "after" (empty for the first page) switches to cursor pagination
+            if (after != null) {
+                result = summary
+                    ? productService.getProductSummariesAfter(search, category, after, size, sortBy, sortDir)
+                    : productService.getProductsAfter(search, category, after, size, sortBy, sortDir);
+            } else if (!withTotal) {
+                result = summary
+                    ? productService.getProductSummarySlice(search, category, page, size, sortBy, sortDir)
+                    : productService.getProductSlice(search, category, page, size, sortBy, sortDir);
+            } else {
+                result = summary
+                    ? productService.getProductSummaries(search, category, page, size, sortBy, sortDir)
+                    : productService.getAllProducts(search, category, page, size, sortBy, sortDir);
+            }
+            return fields == null ? result : sparse(result, fields);
+        });
+        
+        MediaType format = listResponseCache.isEnabled() ? listResponseCache.negotiate(headers.getAccept()) : null;
+        if (format == null) {
+            ResponseEntity<Object> response = conditional(webRequest, etag, lastModified, body);
+            if (response.getBody() != null && ListResponseCache.isProvisional(response.getBody())) {
+                // The total is still being counted; a kept copy would hide it until the next write
+                return ResponseEntity.ok().cacheControl(CacheControl.noStore()).varyBy(HttpHeaders.ACCEPT)
+                    .body(response.getBody());
+            }
+            return response;
+        }
+        
+        // Everything that shapes the body, normalized the way the queries treat it
+        String query = String.join("|", search.toLowerCase(Locale.ROOT), String.valueOf(category),
+            String.valueOf(page), String.valueOf(size), sortBy, "desc".equalsIgnoreCase(sortDir) ? "desc" : "asc",
+            String.valueOf(after), String.valueOf(withTotal), summary ? "summary" : "full",
+            fields == null ? "" : String.join(",", new TreeSet<>(fields)));
+        ListResponseCache.Entry entry = listResponseCache.get(version, format, query, body);
+        String acceptEncoding = headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip")
+            && listResponseCache.shouldGzip(entry);
+        // The gzip body is a different representation, so it gets its own strong ETag
+        ResponseEntity<ListResponseCache.Entry> cached = entry.isProvisional()
+            ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(entry)
+            : conditional(webRequest, gzip ? etag.replaceFirst("\"$", "-gzip\"") : etag, lastModified, () -> entry);
+        if (cached.getBody() == null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .headers(cached.getHeaders())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .headers(cached.getHeaders())
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(format);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? cached.getBody().gzipped() : cached.getBody().bytes());
+    }
+    
+    // Sparse fieldset: keeps only the requested fields (plus id) on each row of the page
+    private JsonNode sparse(Object page, List<String> fields) {
+        Set<String> keep = new HashSet<>(fields);
+        keep.add("id");
+        ObjectNode tree = objectMapper.valueToTree(page);
+        tree.withArray("content").forEach(row -> ((ObjectNode) row).retain(keep));
+        return tree;
+    }
+    
+    // Category, supplier and price-bucket counts for the current search, in one request
+    @GetMapping("/facets")
+    public ResponseEntity<FacetResponse> getFacets(
+            @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) String category,
+            WebRequest webRequest) {
+        String etag = catalogVersion.etag();
+        long lastModified = catalogVersion.lastModified();
+        return conditional(webRequest, etag, lastModified,
+            () -> SharedReads.run(() -> productService.getFacets(search, category)));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggest(q, limit));
+    }
+    
+    // Format from ?format=, else from Accept (so binary clients can just ask for Smile or CBOR)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "") String search,
+            @RequestParam(required = false) String category,
+            @RequestHeader HttpHeaders headers,
+            HttpServletRequest request) {
+        String resolved = format != null ? format : productExportService.formatFor(headers.getAccept());
+        if (!ProductExportService.FORMATS.containsKey(resolved)) {
+            throw new IllegalArgumentException("Unsupported export format: " + resolved);
+        }
         
-        Page<ProductResponse> products = productService.getAllProducts(
-            search, category, page, size, sortBy, sortDir);
+        StreamingResponseBody body = out -> productExportService.export(resolved, category, search, out);
+        // A full export can take minutes; only this request gets the long async timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeoutMs);
         
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok()
+            .contentType(ProductExportService.FORMATS.get(resolved))
+            .varyBy(HttpHeaders.ACCEPT)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + resolved + "\"")
+            .body(body);
+    }
+    
+    // Incremental sync for mirrors: apply the changes in order, then ask again with ?since=nextSince
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(productService.getChanges(since, limit));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        ProductResponse product;
         try {
-            ProductResponse product = productService.getProductById(id);
-            return ResponseEntity.ok(product);
+            product = productService.getProductById(id);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
+        
+        long lastModified = product.getUpdatedAt() == null ? -1
+            : product.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String etag = "\"" + product.getId() + "-" + lastModified + "\"";
+        return conditional(webRequest, etag, lastModified, () -> product);
     }
     
     @PostMapping
@@ -53,6 +256,15 @@ public class ProductController {
         }
     }
     
+    // Accepts a JSON array or NDJSON; items are read incrementally rather than bound as one list
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResponse> createProductsBatch(HttpServletRequest request) throws IOException {
+        Iterator<ProductRequest> items = objectMapper.readerFor(ProductRequest.class)
+            .readValues(request.getInputStream());
+        BatchResponse response = productIngestService.ingest(items);
+        return ResponseEntity.ok(response);
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable Long id, 
@@ -65,6 +277,52 @@ public class ProductController {
         }
     }
     
+    // Sparse update (JSON Merge Patch); only the fields present in the body change
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductResponse> patchProduct(@PathVariable Long id, @RequestBody JsonNode patch) {
+        ProductResponse patchedProduct = productService.patchProduct(id, patch);
+        return ResponseEntity.ok(patchedProduct);
+    }
+    
+    // Bulk price feed: {"items": [{"id": 1, "price": 9.99}, ...]} applied in one transaction
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PriceBatchResponse> updatePrices(@Valid @RequestBody PriceBatchRequest request) {
+        PriceBatchResponse response = productService.updatePrices(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+    
+    // Unknown products answer 404 and adjustments that would go below zero 409 (GlobalExceptionHandler)
+    @PostMapping("/{id}/stock/adjust")
+    public ResponseEntity<StockAdjustmentResponse> adjustStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        StockAdjustmentResponse response = productService.adjustStock(id, request.getDelta(), request.isAllowNegative());
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/stock/adjust")
+    public ResponseEntity<List<StockAdjustmentResponse>> adjustStockBatch(@Valid @RequestBody StockBatchRequest request) {
+        List<StockAdjustmentResponse> response = productService.adjustStock(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+    
+    // Served from memory by the reservation engine when enabled, otherwise a conditional UPDATE
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<StockAdjustmentResponse> reserveStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockReservationRequest request) {
+        StockAdjustmentResponse response = productService.adjustStock(id, -request.getQuantity(), false);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<StockAdjustmentResponse> releaseStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockReservationRequest request) {
+        StockAdjustmentResponse response = productService.adjustStock(id, request.getQuantity(), true);
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         try {
@@ -86,4 +344,38 @@ public class ProductController {
         long count = productService.getCountByCategory(category);
         return ResponseEntity.ok(count);
     }
+    
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(productCache.stats());
+    }
+    
+    // 304 when the client's validators still match; the body supplier is only called otherwise.
+    // no-cache (rather than Spring Security's default no-store) lets clients keep the copy and revalidate.
+    // The body may be JSON, Smile or CBOR depending on Accept, so caches must key on it too.
+    private <T> ResponseEntity<T> conditional(WebRequest webRequest, String etag, long lastModified, Supplier<T> body) {
+        etag = formatETag(webRequest, etag);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok()
+            .varyBy(HttpHeaders.ACCEPT)
+            .eTag(etag)
+            .lastModified(lastModified)
+            .cacheControl(cacheControl)
+            .body(body.get());
+    }
+    
+    // Each format is a different representation, so Smile and CBOR get their own strong ETag
+    // the way gzip does; JSON (and anything Spring would not answer in these formats) keeps the plain one
+    private String formatETag(WebRequest webRequest, String etag) {
+        String[] accept = webRequest.getHeaderValues(HttpHeaders.ACCEPT);
+        MediaType format = listResponseCache.negotiate(
+            accept == null ? List.of() : MediaType.parseMediaTypes(Arrays.asList(accept)));
+        if (format == null || MediaType.APPLICATION_JSON.equals(format)) {
+            return etag;
+        }
+        return etag.replaceFirst("\"$", "-" + format.getSubtype() + "\"");
+    }
 }
@@ -0,0 +1,69 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+
+public class BatchItemResult {
+    
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+    
+    private int index;
+    private String status;
+    private Long id;
+    private String message;
+    private List<ErrorResponse.FieldError> errors;
+    
+    // Constructors
+    public BatchItemResult() {}
+    
+    public BatchItemResult(int index, String status, Long id, String message,
+                           List<ErrorResponse.FieldError> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+        this.errors = errors;
+    }
+    
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public List<ErrorResponse.FieldError> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<ErrorResponse.FieldError> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,56 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+
+public class BatchResponse {
+    
+    private int total;
+    private int created;
+    private int failed;
+    private List<BatchItemResult> results;
+    
+    // Constructors
+    public BatchResponse() {}
+    
+    public BatchResponse(List<BatchItemResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.created = (int) results.stream()
+            .filter(result -> BatchItemResult.CREATED.equals(result.getStatus()))
+            .count();
+        this.failed = total - created;
+    }
+    
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+    
+    public void setTotal(int total) {
+        this.total = total;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,73 @@
+package com.productcatalog.dto;
+
+public class CacheStatsResponse {
+    
+    private long size;
+    private long maxSize;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+    
+    // Constructors
+    public CacheStatsResponse() {}
+    
+    public CacheStatsResponse(long size, long maxSize, long hitCount, long missCount,
+                              long evictionCount, double hitRate) {
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.hitRate = hitRate;
+    }
+    
+    // Getters and Setters
+    public long getSize() {
+        return size;
+    }
+    
+    public void setSize(long size) {
+        this.size = size;
+    }
+    
+    public long getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public long getHitCount() {
+        return hitCount;
+    }
+    
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+    
+    public long getMissCount() {
+        return missCount;
+    }
+    
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+    
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+    
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+    
+    public double getHitRate() {
+        return hitRate;
+    }
+    
+    public void setHitRate(double hitRate) {
+        this.hitRate = hitRate;
+    }
+}
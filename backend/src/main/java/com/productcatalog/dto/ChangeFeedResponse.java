@@ -0,0 +1,45 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+
+public class ChangeFeedResponse {
+    
+    private List<ProductChange> changes;
+    // Pass as ?since= for the next page; unchanged when there was nothing new
+    private long nextSince;
+    private boolean hasMore;
+    
+    // Constructors
+    public ChangeFeedResponse() {}
+    
+    public ChangeFeedResponse(List<ProductChange> changes, long nextSince, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+    
+    // Getters and Setters
+    public List<ProductChange> getChanges() {
+        return changes;
+    }
+    
+    public void setChanges(List<ProductChange> changes) {
+        this.changes = changes;
+    }
+    
+    public long getNextSince() {
+        return nextSince;
+    }
+    
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,54 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+    
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+    
+    // Constructors
+    public CursorPageResponse() {}
+    
+    public CursorPageResponse(List<T> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.size = size;
+    }
+    
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,56 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetResponse {
+    
+    private long total;
+    private Map<String, Long> categories;
+    private Map<String, Long> suppliers;
+    private List<PriceBucket> priceBuckets;
+    
+    // Constructors
+    public FacetResponse() {}
+    
+    public FacetResponse(long total, Map<String, Long> categories, Map<String, Long> suppliers,
+                         List<PriceBucket> priceBuckets) {
+        this.total = total;
+        this.categories = categories;
+        this.suppliers = suppliers;
+        this.priceBuckets = priceBuckets;
+    }
+    
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public Map<String, Long> getCategories() {
+        return categories;
+    }
+    
+    public void setCategories(Map<String, Long> categories) {
+        this.categories = categories;
+    }
+    
+    public Map<String, Long> getSuppliers() {
+        return suppliers;
+    }
+    
+    public void setSuppliers(Map<String, Long> suppliers) {
+        this.suppliers = suppliers;
+    }
+    
+    public List<PriceBucket> getPriceBuckets() {
+        return priceBuckets;
+    }
+    
+    public void setPriceBuckets(List<PriceBucket> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+}
@@ -0,0 +1,29 @@
+package com.productcatalog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class PriceBatchRequest {
+    
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<PriceUpdate> items;
+    
+    // Constructors
+    public PriceBatchRequest() {}
+    
+    public PriceBatchRequest(List<PriceUpdate> items) {
+        this.items = items;
+    }
+    
+    // Getters and Setters
+    public List<PriceUpdate> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<PriceUpdate> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,44 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+
+public class PriceBatchResponse {
+    
+    private int requested;
+    private int updated;
+    private List<Long> missingIds;
+    
+    // Constructors
+    public PriceBatchResponse() {}
+    
+    public PriceBatchResponse(int requested, int updated, List<Long> missingIds) {
+        this.requested = requested;
+        this.updated = updated;
+        this.missingIds = missingIds;
+    }
+    
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+    
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+    
+    public int getUpdated() {
+        return updated;
+    }
+    
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+    
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,45 @@
+package com.productcatalog.dto;
+
+import java.math.BigDecimal;
+
+// Price range [from, to); from is null for the lowest bucket and to is null for the highest
+public class PriceBucket {
+    
+    private BigDecimal from;
+    private BigDecimal to;
+    private long count;
+    
+    // Constructors
+    public PriceBucket() {}
+    
+    public PriceBucket(BigDecimal from, BigDecimal to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public BigDecimal getFrom() {
+        return from;
+    }
+    
+    public void setFrom(BigDecimal from) {
+        this.from = from;
+    }
+    
+    public BigDecimal getTo() {
+        return to;
+    }
+    
+    public void setTo(BigDecimal to) {
+        this.to = to;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,43 @@
+package com.productcatalog.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class PriceUpdate {
+    
+    @NotNull(message = "Product id is required")
+    private Long id;
+    
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.01", message = "Price must be greater than 0")
+    @Digits(integer = 8, fraction = 2, message = "Price must have at most 8 digits before decimal and 2 after")
+    private BigDecimal price;
+    
+    // Constructors
+    public PriceUpdate() {}
+    
+    public PriceUpdate(Long id, BigDecimal price) {
+        this.id = id;
+        this.price = price;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
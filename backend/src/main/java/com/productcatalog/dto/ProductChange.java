@@ -0,0 +1,65 @@
+package com.productcatalog.dto;
+
+import java.time.LocalDateTime;
+
+public class ProductChange {
+    
+    private long sequence;
+    private String type;
+    private Long productId;
+    private LocalDateTime changedAt;
+    // Current state of the product; null once it has been deleted
+    private ProductResponse product;
+    
+    // Constructors
+    public ProductChange() {}
+    
+    public ProductChange(long sequence, String type, Long productId, LocalDateTime changedAt, ProductResponse product) {
+        this.sequence = sequence;
+        this.type = type;
+        this.productId = productId;
+        this.changedAt = changedAt;
+        this.product = product;
+    }
+    
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+    
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+    
+    public ProductResponse getProduct() {
+        return product;
+    }
+    
+    public void setProduct(ProductResponse product) {
+        this.product = product;
+    }
+}
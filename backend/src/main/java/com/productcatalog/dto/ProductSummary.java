@@ -0,0 +1,101 @@
+package com.productcatalog.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// List row without the description TEXT column, built directly by the query instead of from an entity
+public class ProductSummary {
+    
+    public static final Set<String> FIELDS = Set.of(
+        "id", "productName", "category", "price", "stockQuantity", "supplier", "createdAt", "updatedAt");
+    
+    private Long id;
+    private String productName;
+    private String category;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String supplier;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public ProductSummary() {}
+    
+    public ProductSummary(Long id, String productName, String category, BigDecimal price,
+                          Integer stockQuantity, String supplier, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.productName = productName;
+        this.category = category;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.supplier = supplier;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getProductName() {
+        return productName;
+    }
+    
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public BigDecimal getPrice() {
+        return price;
+    }
+    
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+    
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+    
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+    
+    public String getSupplier() {
+        return supplier;
+    }
+    
+    public void setSupplier(String supplier) {
+        this.supplier = supplier;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.productcatalog.dto;
+
+import java.util.List;
+
+public class SliceResponse<T> {
+    
+    private List<T> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+    private Long approximateTotal;
+    
+    // Constructors
+    public SliceResponse() {}
+    
+    public SliceResponse(List<T> content, int number, int size, boolean hasNext, Long approximateTotal) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.approximateTotal = approximateTotal;
+    }
+    
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+    
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+    
+    public int getNumber() {
+        return number;
+    }
+    
+    public void setNumber(int number) {
+        this.number = number;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+    
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+    
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+    
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+}
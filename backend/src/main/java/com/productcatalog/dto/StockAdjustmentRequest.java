@@ -0,0 +1,48 @@
+package com.productcatalog.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class StockAdjustmentRequest {
+    
+    // Only used for batch lines; single adjustments take the id from the path
+    private Long productId;
+    
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+    
+    // By default an adjustment that would take stock below zero is rejected
+    private boolean allowNegative;
+    
+    // Constructors
+    public StockAdjustmentRequest() {}
+    
+    public StockAdjustmentRequest(Long productId, Integer delta) {
+        this.productId = productId;
+        this.delta = delta;
+    }
+    
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Integer getDelta() {
+        return delta;
+    }
+    
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+    
+    public boolean isAllowNegative() {
+        return allowNegative;
+    }
+    
+    public void setAllowNegative(boolean allowNegative) {
+        this.allowNegative = allowNegative;
+    }
+}
@@ -0,0 +1,32 @@
+package com.productcatalog.dto;
+
+public class StockAdjustmentResponse {
+    
+    private Long productId;
+    private Integer stockQuantity;
+    
+    // Constructors
+    public StockAdjustmentResponse() {}
+    
+    public StockAdjustmentResponse(Long productId, Integer stockQuantity) {
+        this.productId = productId;
+        this.stockQuantity = stockQuantity;
+    }
+    
+    // Getters and Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+    
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+    }
+}
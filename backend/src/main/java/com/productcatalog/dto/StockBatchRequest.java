@@ -0,0 +1,29 @@
+package com.productcatalog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class StockBatchRequest {
+    
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<StockAdjustmentRequest> items;
+    
+    // Constructors
+    public StockBatchRequest() {}
+    
+    public StockBatchRequest(List<StockAdjustmentRequest> items) {
+        this.items = items;
+    }
+    
+    // Getters and Setters
+    public List<StockAdjustmentRequest> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<StockAdjustmentRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,27 @@
+package com.productcatalog.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockReservationRequest {
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity;
+    
+    // Constructors
+    public StockReservationRequest() {}
+    
+    public StockReservationRequest(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    // Getters and Setters
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,46 @@
+package com.productcatalog.dto;
+
+public class Suggestion {
+    
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+    public static final String SUPPLIER = "supplier";
+    
+    private String text;
+    private String type;
+    private Long productId;
+    
+    // Constructors
+    public Suggestion() {}
+    
+    public Suggestion(String text, String type, Long productId) {
+        this.text = text;
+        this.type = type;
+        this.productId = productId;
+    }
+    
+    // Getters and Setters
+    public String getText() {
+        return text;
+    }
+    
+    public void setText(String text) {
+        this.text = text;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+}
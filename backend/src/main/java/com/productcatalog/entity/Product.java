@@ -1,11 +1,13 @@
 package com.productcatalog.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "products")
+@DynamicUpdate
 public class Product {
     
     @Id
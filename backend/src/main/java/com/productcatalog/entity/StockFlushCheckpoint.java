@@ -0,0 +1,41 @@
+package com.productcatalog.entity;
+
+import jakarta.persistence.*;
+
+// Last journal sequence of a reservation-engine stripe whose stock has been written to products
+@Entity
+@Table(name = "stock_flush_checkpoints")
+public class StockFlushCheckpoint {
+    
+    @Id
+    @Column(length = 100)
+    private String id;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+    
+    // Constructors
+    public StockFlushCheckpoint() {}
+    
+    public StockFlushCheckpoint(String id, Long lastSequence) {
+        this.id = id;
+        this.lastSequence = lastSequence;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getLastSequence() {
+        return lastSequence;
+    }
+    
+    public void setLastSequence(Long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+}
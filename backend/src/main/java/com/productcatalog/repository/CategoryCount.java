@@ -0,0 +1,9 @@
+package com.productcatalog.repository;
+
+// Projection for grouped per-category counts
+public interface CategoryCount {
+    
+    String getCategory();
+    
+    long getTotal();
+}
@@ -0,0 +1,6 @@
+package com.productcatalog.repository;
+
+import java.time.LocalDateTime;
+
+// One row of the product change log
+public record ChangeLogEntry(long sequence, Long productId, String changeType, LocalDateTime changedAt) {}
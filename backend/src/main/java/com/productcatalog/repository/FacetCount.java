@@ -0,0 +1,4 @@
+package com.productcatalog.repository;
+
+// One group of the facet query: products sharing a category, supplier and price bucket
+public record FacetCount(String category, String supplier, int priceBucket, long total) {}
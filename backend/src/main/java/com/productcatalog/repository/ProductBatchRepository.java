@@ -0,0 +1,86 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.Product;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Plain JDBC batch inserts: Hibernate cannot batch inserts for IDENTITY ids,
+// but the driver can (rewriteBatchedStatements) and still return the generated keys.
+@Repository
+public class ProductBatchRepository {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO products (product_name, category, description, price, stock_quantity, supplier, " +
+        "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_PRICE_SQL =
+        "UPDATE products SET price = ?, updated_at = ? WHERE id = ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${catalog.batch.size:1000}")
+    private int batchSize = 1000;
+    
+    // Inserts all products as one JDBC batch and assigns the generated ids back onto them
+    @Timed(value = "catalog.repository.batch", histogram = true)
+    public void insertAll(List<Product> products) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Product product : products) {
+                    ps.setString(1, product.getProductName());
+                    ps.setString(2, product.getCategory());
+                    if (product.getDescription() != null) {
+                        ps.setString(3, product.getDescription());
+                    } else {
+                        ps.setNull(3, Types.LONGVARCHAR);
+                    }
+                    ps.setBigDecimal(4, product.getPrice());
+                    ps.setInt(5, product.getStockQuantity());
+                    if (product.getSupplier() != null) {
+                        ps.setString(6, product.getSupplier());
+                    } else {
+                        ps.setNull(6, Types.VARCHAR);
+                    }
+                    ps.setTimestamp(7, Timestamp.valueOf(product.getCreatedAt()));
+                    ps.setTimestamp(8, Timestamp.valueOf(product.getUpdatedAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < products.size()) {
+                        products.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+    
+    // Price-only UPDATEs sent in JDBC batches; other columns (notably the TEXT description) are not touched
+    @Timed(value = "catalog.repository.batch", histogram = true)
+    public void updatePrices(Map<Long, BigDecimal> prices, LocalDateTime updatedAt) {
+        Timestamp timestamp = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.batchUpdate(UPDATE_PRICE_SQL, prices.entrySet(), batchSize, (ps, entry) -> {
+            ps.setBigDecimal(1, entry.getValue());
+            ps.setTimestamp(2, timestamp);
+            ps.setLong(3, entry.getKey());
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.productcatalog.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Change log written in the caller's transaction, numbered by AUTO_INCREMENT. Numbers are
+// allocated at insert but become visible at commit, so a reader could see a later number
+// before an earlier one commits. findSince therefore stops below the oldest number still
+// held by an open transaction on this node, and below rows younger than the settle time,
+// which covers transactions on other nodes (writers log their changes last, just before commit).
+@Repository
+public class ProductChangeRepository {
+    
+    public static final String CREATE = "CREATE";
+    public static final String UPDATE = "UPDATE";
+    public static final String DELETE = "DELETE";
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO product_changes (product_id, change_type) VALUES (?, ?)";
+    
+    private static final String SINCE_SQL =
+        "SELECT seq, product_id, change_type, changed_at, " +
+        "changed_at <= TIMESTAMPADD(MICROSECOND, ?, LOCALTIMESTAMP(6)) AS settled " +
+        "FROM product_changes WHERE seq > ? AND seq <= ? ORDER BY seq LIMIT ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${catalog.changes.settle-ms:1000}")
+    private long settleMs = 1000;
+    
+    // Lowest sequence number of each uncommitted transaction on this node
+    private final ConcurrentSkipListSet<Long> openSequences = new ConcurrentSkipListSet<>();
+    
+    // Logs one change per id, numbered in iteration order
+    @Timed(value = "catalog.repository.batch", histogram = true)
+    public void record(String changeType, Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Long first = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Long productId : productIds) {
+                    ps.setLong(1, productId);
+                    ps.setString(2, changeType);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                
+                long min = Long.MAX_VALUE;
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        min = Math.min(min, keys.getLong(1));
+                    }
+                }
+                return min;
+            }
+        });
+        if (first != null && first != Long.MAX_VALUE && TransactionSynchronizationManager.isSynchronizationActive()) {
+            openSequences.add(first);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    openSequences.remove(first);
+                }
+            });
+        }
+    }
+    
+    // Entries after since that no open transaction can still precede; may return fewer than limit
+    public List<ChangeLogEntry> findSince(long since, int limit) {
+        Long oldestOpen = openSequences.isEmpty() ? null : openSequences.first();
+        long upTo = oldestOpen == null ? Long.MAX_VALUE : oldestOpen - 1;
+        List<SettledEntry> rows = jdbcTemplate.query(SINCE_SQL, (rs, rowNum) -> new SettledEntry(
+            new ChangeLogEntry(
+                rs.getLong("seq"),
+                rs.getLong("product_id"),
+                rs.getString("change_type"),
+                rs.getTimestamp("changed_at").toLocalDateTime()),
+            rs.getBoolean("settled")
+        ), -settleMs * 1000, since, upTo, limit);
+        
+        int settled = 0;
+        while (settled < rows.size() && rows.get(settled).settled()) {
+            settled++;
+        }
+        return rows.subList(0, settled).stream().map(SettledEntry::entry).toList();
+    }
+    
+    private record SettledEntry(ChangeLogEntry entry, boolean settled) {}
+}
@@ -0,0 +1,12 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.Product;
+
+import java.util.stream.Stream;
+
+// Fragment of ProductRepository: the forward-only read behind GET /products/export
+public interface ProductExportRepository {
+    
+    // Same filters as the listings, in id order. Consume inside a transaction and close.
+    Stream<Product> streamWithFilters(String category, String search);
+}
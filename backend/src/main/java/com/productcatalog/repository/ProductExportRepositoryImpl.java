@@ -0,0 +1,57 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.stream.Stream;
+
+public class ProductExportRepositoryImpl implements ProductExportRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${catalog.export.fetch-size:1000}")
+    private int fetchSize = 1000;
+    
+    private volatile Boolean mysql;
+    
+    // MySQL Connector/J buffers the whole result unless told otherwise. A fetch size of
+    // Integer.MIN_VALUE on this one statement makes it stream rows off the socket, so the
+    // shared JDBC URL needs no useCursorFetch and every other query keeps its usual protocol.
+    @Override
+    public Stream<Product> streamWithFilters(String category, String search) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> root = query.from(Product.class);
+        Predicate predicate = ProductSpecifications.withFilters(category, search).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, isMySql() ? Integer.MIN_VALUE : fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setHint(HibernateHints.HINT_CACHEABLE, false)
+            .getResultStream();
+    }
+    
+    private boolean isMySql() {
+        Boolean detected = mysql;
+        if (detected == null) {
+            detected = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+            mysql = detected;
+        }
+        return detected;
+    }
+}
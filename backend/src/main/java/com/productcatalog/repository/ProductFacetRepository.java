@@ -0,0 +1,15 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Fragment of ProductRepository: grouped counts for the facet sidebar
+public interface ProductFacetRepository {
+    
+    // Bucket i holds prices below priceBounds[i] (and at or above the previous bound); the last
+    // bucket, index priceBounds.length, holds everything from the highest bound up
+    List<FacetCount> countFacets(Specification<Product> spec, BigDecimal[] priceBounds);
+}
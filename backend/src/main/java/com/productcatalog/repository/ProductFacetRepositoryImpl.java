@@ -0,0 +1,46 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ProductFacetRepositoryImpl implements ProductFacetRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // A single GROUP BY category, supplier, price bucket; the caller rolls the groups up per facet
+    @Override
+    public List<FacetCount> countFacets(Specification<Product> spec, BigDecimal[] priceBounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCount> query = cb.createQuery(FacetCount.class);
+        Root<Product> root = query.from(Product.class);
+        
+        Path<BigDecimal> price = root.get("price");
+        CriteriaBuilder.Case<Integer> bucketCase = cb.selectCase();
+        for (int i = 0; i < priceBounds.length; i++) {
+            bucketCase = bucketCase.when(cb.lessThan(price, cb.literal(priceBounds[i])), cb.literal(i));
+        }
+        Expression<Integer> bucket = bucketCase.otherwise(cb.literal(priceBounds.length));
+        
+        query.select(cb.construct(FacetCount.class,
+            root.get("category"), root.get("supplier"), bucket, cb.count(root)));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(root.get("category"), root.get("supplier"), bucket);
+        
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -3,13 +3,20 @@ package com.productcatalog.repository;
 import com.productcatalog.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductSummaryRepository, ProductFacetRepository, ProductExportRepository {
     
     // Find products by category
     Page<Product> findByCategory(String category, Pageable pageable);
@@ -31,6 +38,55 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         @Param("search") String search,
         Pageable pageable);
     
+    // Same filters as above returned as a Slice: fetches size + 1 rows and skips the count query
+    @Query("SELECT p FROM Product p WHERE " +
+           "(:category is null OR p.category = :category) AND " +
+           "(:search is null OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Slice<Product> findSliceWithFilters(
+        @Param("category") String category,
+        @Param("search") String search,
+        Pageable pageable);
+    
+    @Query("SELECT COUNT(p) FROM Product p WHERE " +
+           "(:category is null OR p.category = :category) AND " +
+           "(:search is null OR LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%')))")
+    long countWithFilters(@Param("category") String category, @Param("search") String search);
+    
+    // Fetch a page of rows for ids already resolved by the search index (no count query)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
+    List<Product> findByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
+    
+    // Narrows search index candidates to the rows findProductsWithFilters would match
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids AND " +
+           "(LOWER(p.productName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%'))) ORDER BY p.id")
+    List<Long> findIdsMatching(@Param("ids") Collection<Long> ids, @Param("search") String search);
+    
+    // Ascending id scan used to (re)build in-memory indexes in batches
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     // Count products by category
     long countByCategory(String category);
+    
+    @Query("SELECT p.category AS category, COUNT(p) AS total FROM Product p GROUP BY p.category")
+    List<CategoryCount> countGroupByCategory();
+    
+    // Single conditional UPDATE instead of read-modify-write; 0 rows means missing product or not enough stock
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.updatedAt = :now " +
+           "WHERE p.id = :id AND (:allowNegative = true OR p.stockQuantity + :delta >= 0)")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta,
+                    @Param("allowNegative") boolean allowNegative, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = :quantity, p.updatedAt = :now WHERE p.id = :id")
+    int setStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Integer findStockQuantityById(@Param("id") Long id);
 }
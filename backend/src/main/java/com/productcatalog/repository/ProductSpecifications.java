@@ -0,0 +1,60 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.Product;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Locale;
+
+public final class ProductSpecifications {
+    
+    private ProductSpecifications() {}
+    
+    // Same criteria as ProductRepository.findProductsWithFilters
+    public static Specification<Product> withFilters(String category, String search) {
+        return (root, query, cb) -> {
+            var predicate = cb.conjunction();
+            if (category != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("category"), category));
+            }
+            // Like the JPQL queries, only null or empty means no search; blanks are matched literally
+            if (StringUtils.hasLength(search)) {
+                String pattern = "%" + search.toLowerCase(Locale.ROOT) + "%";
+                predicate = cb.and(predicate, cb.or(
+                    cb.like(cb.lower(root.get("productName")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern)));
+            }
+            return predicate;
+        };
+    }
+    
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+    
+    // Seek predicate for keyset pagination ordered by (field, id). A null value is the cursor of a
+    // row whose field is NULL; MySQL (and H2) sort NULLs before every value, so first when
+    // ascending and last when descending.
+    public static <T extends Comparable<? super T>> Specification<Product> after(
+            String field, T value, Long id, boolean ascending) {
+        return (root, query, cb) -> {
+            if ("id".equals(field)) {
+                return ascending ? cb.greaterThan(root.get("id"), id) : cb.lessThan(root.get("id"), id);
+            }
+            var sortKey = root.<T>get(field);
+            var idKey = root.<Long>get("id");
+            if (value == null) {
+                var nextNull = cb.and(cb.isNull(sortKey), ascending ? cb.greaterThan(idKey, id) : cb.lessThan(idKey, id));
+                return ascending ? cb.or(nextNull, cb.isNotNull(sortKey)) : nextNull;
+            }
+            if (ascending) {
+                return cb.or(cb.greaterThan(sortKey, value),
+                    cb.and(cb.equal(sortKey, value), cb.greaterThan(idKey, id)));
+            }
+            return cb.or(cb.lessThan(sortKey, value),
+                cb.and(cb.equal(sortKey, value), cb.lessThan(idKey, id)),
+                cb.isNull(sortKey));
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.entity.Product;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Fragment of ProductRepository: Specification queries that select summary columns only
+public interface ProductSummaryRepository {
+    
+    List<ProductSummary> findSummaries(Specification<Product> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,44 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class ProductSummaryRepositoryImpl implements ProductSummaryRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Constructor expression: rows come back as DTOs, so description is never read and
+    // nothing is added to the persistence context
+    @Override
+    public List<ProductSummary> findSummaries(Specification<Product> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductSummary.class,
+            root.get("id"), root.get("productName"), root.get("category"), root.get("price"),
+            root.get("stockQuantity"), root.get("supplier"), root.get("createdAt"), root.get("updatedAt")));
+        
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        
+        return entityManager.createQuery(query)
+            .setFirstResult(Math.toIntExact(offset))
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
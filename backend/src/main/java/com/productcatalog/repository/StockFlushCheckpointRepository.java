@@ -0,0 +1,9 @@
+package com.productcatalog.repository;
+
+import com.productcatalog.entity.StockFlushCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockFlushCheckpointRepository extends JpaRepository<StockFlushCheckpoint, String> {
+}
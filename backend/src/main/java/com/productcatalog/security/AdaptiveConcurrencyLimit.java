@@ -0,0 +1,114 @@
+package com.productcatalog.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows ProductService latency, in the style of a gradient
+ * limiter: while recent latency stays within tolerance of the long-run baseline the
+ * limit grows, and as it climbs (the database slowing down) the limit shrinks in
+ * proportion, so excess requests are turned away instead of queueing in Tomcat and
+ * Hikari. Ordinary requests may not use the reserved share of the limit, which keeps
+ * room for priority ones (logins and writes) however busy reads get.
+ */
+@Component
+public class AdaptiveConcurrencyLimit {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${catalog.load-shedding.initial-limit:50}")
+    private int initialLimit = 50;
+
+    @Value("${catalog.load-shedding.min-limit:10}")
+    private int minLimit = 10;
+
+    @Value("${catalog.load-shedding.max-limit:500}")
+    private int maxLimit = 500;
+
+    @Value("${catalog.load-shedding.reserved-share:0.2}")
+    private double reservedShare = 0.2;
+
+    // How far recent latency may exceed the baseline before the limit starts to shrink
+    @Value("${catalog.load-shedding.tolerance:1.5}")
+    private double tolerance = 1.5;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Exponentially weighted latencies in nanos over roughly the last 10 and 500 samples; guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    private Counter rejectedPriority;
+    private Counter rejectedOrdinary;
+
+    @PostConstruct
+    public void init() {
+        limit = initialLimit;
+        Gauge.builder("catalog.load_shedding.limit", this, AdaptiveConcurrencyLimit::getLimit)
+            .description("Current adaptive concurrency limit for product and login requests")
+            .register(meterRegistry);
+        Gauge.builder("catalog.load_shedding.in_flight", this, AdaptiveConcurrencyLimit::getInFlight)
+            .description("Limited requests currently being processed")
+            .register(meterRegistry);
+        rejectedPriority = Counter.builder("catalog.load_shedding.rejected")
+            .tag("lane", "priority")
+            .register(meterRegistry);
+        rejectedOrdinary = Counter.builder("catalog.load_shedding.rejected")
+            .tag("lane", "ordinary")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request if it fits under the limit; every admitted request must release().
+     */
+    public boolean tryAcquire(boolean priority) {
+        double cap = priority ? limit : limit * (1 - reservedShare);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                (priority ? rejectedPriority : rejectedOrdinary).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized void onSample(long latencyNanos) {
+        shortRtt = shortRtt == 0 ? latencyNanos : shortRtt * 0.9 + latencyNanos * 0.1;
+        longRtt = longRtt == 0 ? latencyNanos : longRtt * 0.998 + latencyNanos * 0.002;
+        // Once latency is well back below the baseline, let the baseline come down with it
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+        // An idle limit says nothing about capacity, so only adjust it while it is being used
+        if (inFlight.get() < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double next = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * 0.8 + next * 0.2));
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
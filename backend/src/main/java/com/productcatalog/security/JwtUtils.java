@@ -1,23 +1,81 @@
 package com.productcatalog.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize = 10000;
+    
+    // Built once; both are immutable and thread-safe
+    private Key signingKey;
+    private JwtParser parser;
+    
+    // Recently verified tokens keyed by SHA-256 of the token, each expiring with the token itself
+    private Cache<String, VerifiedToken> verifiedTokens;
+    
+    // Cost of a full parse + signature check (cache hits are not recorded)
+    private Timer validationTimer;
+    
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.validationTimer = Timer.builder("catalog.jwt.validation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMs = token.expiresAtMs() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
     }
     
     public String generateJwtToken(String username) {
@@ -25,26 +83,47 @@ public class JwtUtils {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
+    /**
+     * Verifies the token at most once per session: returns the subject of a valid
+     * token, or null if it is invalid or expired.
+     */
+    public String getUserNameFromValidToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        String cacheKey = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && cached.expiresAtMs() > System.currentTimeMillis()) {
+            return cached.username();
+        }
+        
+        Claims claims = validationTimer.record(() -> parseClaims(token));
+        if (claims == null) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(cacheKey, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+    
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
     
     public boolean validateJwtToken(String authToken) {
+        return getUserNameFromValidToken(authToken) != null;
+    }
+    
+    private Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (MalformedJwtException e) {
             System.err.println("Invalid JWT token: " + e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -53,11 +132,28 @@ public class JwtUtils {
             System.err.println("JWT token is unsupported: " + e.getMessage());
         } catch (IllegalArgumentException e) {
             System.err.println("JWT claims string is empty: " + e.getMessage());
+        } catch (JwtException e) {
+            System.err.println("JWT signature is invalid: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
+    }
+    
+    public Cache<String, ?> getVerifiedTokenCache() {
+        return verifiedTokens;
     }
     
     public long getExpirationTime() {
         return jwtExpirationMs;
     }
+    
+    private record VerifiedToken(String username, long expiresAtMs) {}
 }
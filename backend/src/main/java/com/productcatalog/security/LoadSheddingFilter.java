@@ -0,0 +1,88 @@
+package com.productcatalog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds product and login requests beyond the adaptive concurrency limit with a fast
+ * 503, rather than letting them queue for a slow database. Logins and writes are the
+ * priority lane; product reads are the ordinary one. Exports are long-lived streams
+ * with their own rate limit and are not counted.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${catalog.load-shedding.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${catalog.load-shedding.retry-after-seconds:1}")
+    private long retryAfterSeconds = 1;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || laneFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!concurrencyLimit.tryAcquire(laneFor(request))) {
+            reject(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    // true for the priority lane, false for ordinary, null when the request is not limited
+    private Boolean laneFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+        if (path.equals("/auth/login")) {
+            return true;
+        }
+        if (path.startsWith("/products/export")) {
+            return null;
+        }
+        if (path.equals("/products") || path.startsWith("/products/")) {
+            return !"GET".equals(method) && !"HEAD".equals(method);
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse body = new ErrorResponse(
+            "Server is at capacity, retry after " + retryAfterSeconds + "s",
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
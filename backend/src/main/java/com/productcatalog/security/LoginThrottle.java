@@ -0,0 +1,101 @@
+package com.productcatalog.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guards BCrypt checks for logins: a per-username token bucket, and a small dedicated
+ * pool with a bounded queue so a burst of attempts can only use the configured number
+ * of cores. Attempts beyond the queue are refused instead of piling up.
+ */
+@Component
+public class LoginThrottle {
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${catalog.rate-limit.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${catalog.rate-limit.max-clients:100000}")
+    private long maxClients = 100000;
+    
+    @Value("${catalog.rate-limit.login.per-username.capacity:5}")
+    private int usernameCapacity = 5;
+    
+    @Value("${catalog.rate-limit.login.per-username.per-second:0.1}")
+    private double usernamePerSecond = 0.1;
+    
+    // 0 means half the available processors
+    @Value("${catalog.auth.hash-threads:0}")
+    private int hashThreads = 0;
+    
+    @Value("${catalog.auth.hash-queue:16}")
+    private int hashQueue = 16;
+    
+    @Value("${catalog.auth.hash-timeout-ms:5000}")
+    private long hashTimeoutMs = 5000;
+    
+    private RateLimit perUsername;
+    private ThreadPoolExecutor hashExecutor;
+    
+    @PostConstruct
+    public void init() {
+        perUsername = new RateLimit("login-username", usernameCapacity, usernamePerSecond, maxClients, meterRegistry);
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        hashExecutor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(hashQueue), runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        System.out.println("✅ Password hashing pool: " + threads + " threads, queue " + hashQueue);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+    
+    public boolean matches(String username, String rawPassword, String encodedPassword) {
+        if (enabled) {
+            perUsername.acquire(username);
+        }
+        
+        Future<Boolean> result;
+        try {
+            result = hashExecutor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            throw new RateLimitExceededException("password-hashing", 1);
+        }
+        try {
+            return result.get(hashTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new RateLimitExceededException("password-hashing", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while checking credentials");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Credential check failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.productcatalog.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named limit with one token bucket per key (client IP, username, ...). Buckets are
+ * bounded in number and expire once idle long enough to have refilled, so evicting
+ * one never gives a client more than a fresh bucket would.
+ */
+public class RateLimit {
+    
+    private final String name;
+    private final int capacity;
+    private final double tokensPerSecond;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejected;
+    
+    public RateLimit(String name, int capacity, double tokensPerSecond, long maxKeys,
+                     MeterRegistry meterRegistry) {
+        this.name = name;
+        this.capacity = capacity;
+        this.tokensPerSecond = tokensPerSecond;
+        long idleNanos = new TokenBucket(capacity, tokensPerSecond, 0).idleNanos();
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterAccess(Duration.ofNanos(idleNanos))
+            .build();
+        this.rejected = Counter.builder("catalog.rate_limit.rejected")
+            .tag("limit", name)
+            .register(meterRegistry);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * Takes a token for the key. Returns 0 if allowed, otherwise the whole seconds to wait.
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        long waitNanos = buckets.get(key, k -> new TokenBucket(capacity, tokensPerSecond, now)).tryAcquire(now);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        rejected.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+    
+    /**
+     * Like tryAcquire but throws RateLimitExceededException when the limit is hit.
+     */
+    public void acquire(String key) {
+        long retryAfterSeconds = tryAcquire(key);
+        if (retryAfterSeconds > 0) {
+            throw new RateLimitExceededException(name, retryAfterSeconds);
+        }
+    }
+}
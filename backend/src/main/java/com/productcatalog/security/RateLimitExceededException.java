@@ -0,0 +1,15 @@
+package com.productcatalog.security;
+
+public class RateLimitExceededException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public RateLimitExceededException(String limit, long retryAfterSeconds) {
+        super("Too many requests (" + limit + "), retry after " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,124 @@
+package com.productcatalog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-client-IP token buckets in front of everything else, so rejected requests cost
+ * neither a JWT check nor a BCrypt hash. Each route group has its own limit.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${catalog.rate-limit.enabled:true}")
+    private boolean enabled = true;
+    
+    @Value("${catalog.rate-limit.max-clients:100000}")
+    private long maxClients = 100000;
+    
+    @Value("${catalog.rate-limit.login.per-ip.capacity:10}")
+    private int loginCapacity = 10;
+    
+    @Value("${catalog.rate-limit.login.per-ip.per-second:0.2}")
+    private double loginPerSecond = 0.2;
+    
+    @Value("${catalog.rate-limit.products.read.capacity:100}")
+    private int readCapacity = 100;
+    
+    @Value("${catalog.rate-limit.products.read.per-second:50}")
+    private double readPerSecond = 50;
+    
+    @Value("${catalog.rate-limit.products.write.capacity:50}")
+    private int writeCapacity = 50;
+    
+    @Value("${catalog.rate-limit.products.write.per-second:10}")
+    private double writePerSecond = 10;
+    
+    @Value("${catalog.rate-limit.products.export.capacity:2}")
+    private int exportCapacity = 2;
+    
+    @Value("${catalog.rate-limit.products.export.per-second:0.05}")
+    private double exportPerSecond = 0.05;
+    
+    private RateLimit login;
+    private RateLimit productReads;
+    private RateLimit productWrites;
+    private RateLimit exports;
+    
+    @PostConstruct
+    public void init() {
+        login = new RateLimit("login-ip", loginCapacity, loginPerSecond, maxClients, meterRegistry);
+        productReads = new RateLimit("products-read", readCapacity, readPerSecond, maxClients, meterRegistry);
+        productWrites = new RateLimit("products-write", writeCapacity, writePerSecond, maxClients, meterRegistry);
+        exports = new RateLimit("products-export", exportCapacity, exportPerSecond, maxClients, meterRegistry);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimit limit = limitFor(request);
+        // Behind a proxy, server.forward-headers-strategy makes this the forwarded client address
+        long retryAfterSeconds = limit == null ? 0 : limit.tryAcquire(request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            reject(request, response, limit, retryAfterSeconds);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    private RateLimit limitFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+        if (path.equals("/auth/login")) {
+            return login;
+        }
+        if (path.startsWith("/products/export")) {
+            return exports;
+        }
+        if (path.equals("/products") || path.startsWith("/products/")) {
+            return "GET".equals(method) || "HEAD".equals(method) ? productReads : productWrites;
+        }
+        return null;
+    }
+    
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        RateLimit limit, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse body = new ErrorResponse(
+            new RateLimitExceededException(limit.getName(), retryAfterSeconds).getMessage(),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            request.getRequestURI());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,27 @@
+package com.productcatalog.security;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Feeds the adaptive concurrency limit with the latency of ProductService calls, the part
+// of a request that slows down with the database (not cache hits or response writing)
+@Aspect
+@Component
+public class ServiceLatencySampler {
+
+    @Autowired
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+
+    @Around("execution(public * com.productcatalog.service.ProductService.*(..))")
+    public Object sample(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            concurrencyLimit.onSample(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.productcatalog.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: instead of a token count and a refill
+ * timestamp, a single "theoretical arrival time" is advanced by one emission interval
+ * per token taken. The bucket is empty when that time runs more than capacity
+ * intervals ahead of now, so one CAS on one long replaces refill-then-take.
+ */
+final class TokenBucket {
+    
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        // Starts full
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+    
+    /**
+     * Takes one token. Returns 0 on success, otherwise the nanos until a token will be available.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Nanos after which the bucket has refilled completely and can be dropped without loss.
+     */
+    long idleNanos() {
+        return burstNanos;
+    }
+}
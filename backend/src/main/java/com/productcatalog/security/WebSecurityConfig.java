@@ -1,5 +1,6 @@
 package com.productcatalog.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -23,6 +24,12 @@ public class WebSecurityConfig {
     @Autowired
     private AuthTokenFilter authTokenFilter;
     
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+    
+    @Autowired
+    private LoadSheddingFilter loadSheddingFilter;
+    
     @Value("${cors.allowed.origins}")
     private String allowedOrigins;
     
@@ -37,12 +44,16 @@ public class WebSecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // Streaming responses complete on an async dispatch; the original request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .anyRequest().authenticated()
             );
         
         http.addFilterBefore(authTokenFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(rateLimitFilter, AuthTokenFilter.class);
+        http.addFilterAfter(loadSheddingFilter, RateLimitFilter.class);
         
         return http.build();
     }
@@ -51,7 +62,7 @@ public class WebSecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList(allowedOrigins.split(",")));
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
         
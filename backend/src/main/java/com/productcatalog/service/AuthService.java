@@ -5,18 +5,20 @@ import com.productcatalog.dto.LoginResponse;
 import com.productcatalog.entity.Admin;
 import com.productcatalog.repository.AdminRepository;
 import com.productcatalog.security.JwtUtils;
+import com.productcatalog.security.LoginThrottle;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Timed(value = "catalog.service", histogram = true)
 public class AuthService {
     
     @Autowired
     private AdminRepository adminRepository;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private LoginThrottle loginThrottle;
     
     @Autowired
     private JwtUtils jwtUtils;
@@ -25,7 +27,8 @@ public class AuthService {
         Admin admin = adminRepository.findByUsername(loginRequest.getUsername())
             .orElseThrow(() -> new RuntimeException("Invalid credentials"));
         
-        if (!passwordEncoder.matches(loginRequest.getPassword(), admin.getPasswordHash())) {
+        // BCrypt runs on the throttled hashing pool, never on the request thread
+        if (!loginThrottle.matches(admin.getUsername(), loginRequest.getPassword(), admin.getPasswordHash())) {
             throw new RuntimeException("Invalid credentials");
         }
         
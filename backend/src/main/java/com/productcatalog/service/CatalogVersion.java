@@ -0,0 +1,37 @@
+package com.productcatalog.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Monotonic version of the whole catalog, bumped after every committed write.
+ * List responses derive their ETag and Last-Modified from it, so conditional
+ * requests can be answered without running the query.
+ */
+@Component
+public class CatalogVersion {
+
+    // Seeded from the clock so validators issued before a restart never match
+    private final AtomicReference<State> state = new AtomicReference<>(
+        new State(System.currentTimeMillis(), System.currentTimeMillis()));
+
+    public long current() {
+        return state.get().version();
+    }
+
+    public long lastModified() {
+        return state.get().lastModified();
+    }
+
+    public String etag() {
+        return "\"v" + current() + "\"";
+    }
+
+    public void bump() {
+        long now = System.currentTimeMillis();
+        state.updateAndGet(s -> new State(s.version() + 1, Math.max(now, s.lastModified())));
+    }
+
+    private record State(long version, long lastModified) {}
+}
@@ -0,0 +1,149 @@
+package com.productcatalog.service;
+
+import com.productcatalog.repository.CategoryCount;
+import com.productcatalog.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory product totals (overall and per category) maintained from committed
+ * writes in ProductService, so the count endpoints never hit the database.
+ * Categories are keyed case- and accent-insensitively, like the category column.
+ * A periodic reconciliation corrects any drift, e.g. rows changed outside the app:
+ * changes made while its query runs are replayed onto the result before it is swapped in.
+ */
+@Component
+public class CategoryCounters {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    // Writers share the read lock; swapping in reconciled counts takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private volatile Counts counts = new Counts();
+    private Counts tracked;
+    
+    private volatile boolean ready = false;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public long total() {
+        return counts.total.sum();
+    }
+    
+    public long count(String category) {
+        LongAdder counter = counts.categories.get(key(category));
+        return counter == null ? 0 : counter.sum();
+    }
+    
+    public void increment(String category) {
+        update(category, 1, null);
+    }
+    
+    public void decrement(String category) {
+        update(category, -1, null);
+    }
+    
+    public void move(String fromCategory, String toCategory) {
+        if (key(fromCategory).equals(key(toCategory))) {
+            return;
+        }
+        update(fromCategory, -1, toCategory);
+    }
+    
+    // Loads the counts from the database, keeping changes committed while the query runs
+    public synchronized void reload() {
+        lock.writeLock().lock();
+        try {
+            tracked = new Counts();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            reset(productRepository.countGroupByCategory());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                tracked = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+    
+    public void reset(List<? extends CategoryCount> categoryCounts) {
+        Counts fresh = new Counts();
+        for (CategoryCount count : categoryCounts) {
+            fresh.add(key(count.getCategory()), count.getTotal(), true);
+        }
+        lock.writeLock().lock();
+        try {
+            if (tracked != null) {
+                tracked.categories.forEach((category, delta) -> fresh.add(category, delta.sum(), false));
+                fresh.total.add(tracked.total.sum());
+            }
+            counts = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Scheduled(initialDelayString = "${catalog.counters.reconcile-interval-ms:300000}",
+               fixedDelayString = "${catalog.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (ready) {
+            reload();
+        }
+    }
+    
+    // Adds delta to category, or moves one product from category to movedTo when that is set
+    private void update(String category, int delta, String movedTo) {
+        lock.readLock().lock();
+        try {
+            apply(counts, category, delta, movedTo);
+            if (tracked != null) {
+                apply(tracked, category, delta, movedTo);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static void apply(Counts target, String category, int delta, String movedTo) {
+        if (movedTo == null) {
+            target.add(key(category), delta, true);
+        } else {
+            target.add(key(category), delta, false);
+            target.add(key(movedTo), -delta, false);
+        }
+    }
+    
+    private static String key(String category) {
+        return category == null ? "" : ProductSearchIndex.fold(category);
+    }
+    
+    private static final class Counts {
+        
+        private final Map<String, LongAdder> categories = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+        
+        void add(String category, long delta, boolean countTotal) {
+            categories.computeIfAbsent(category, c -> new LongAdder()).add(delta);
+            if (countTotal) {
+                total.add(delta);
+            }
+        }
+    }
+}
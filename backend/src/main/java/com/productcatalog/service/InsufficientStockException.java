@@ -0,0 +1,15 @@
+package com.productcatalog.service;
+
+public class InsufficientStockException extends RuntimeException {
+    
+    private final Long productId;
+    
+    public InsufficientStockException(Long productId) {
+        super("Insufficient stock for product with id: " + productId);
+        this.productId = productId;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+}
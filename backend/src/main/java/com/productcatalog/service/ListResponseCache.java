@@ -0,0 +1,174 @@
+package com.productcatalog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.productcatalog.dto.SliceResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already-serialized list responses for hot queries, so a hit is one buffer write with
+ * no query, mapping or serialization. Keys carry the catalog version read before the
+ * query, which makes every write invalidate all entries at once; superseded versions are
+ * never read again and age out under the byte bound. Concurrent misses on one key are
+ * coalesced into a single load.
+ */
+@Component
+public class ListResponseCache {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final Cache<Key, Entry> cache;
+    private final Map<MediaType, ObjectMapper> mappers;
+    private final boolean enabled;
+    private final int gzipMinBytes;
+
+    public ListResponseCache(ObjectMapper objectMapper,
+                             MappingJackson2SmileHttpMessageConverter smileConverter,
+                             MappingJackson2CborHttpMessageConverter cborConverter,
+                             @Value("${catalog.list-cache.enabled:true}") boolean enabled,
+                             @Value("${catalog.list-cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${catalog.list-cache.ttl-seconds:300}") long ttlSeconds,
+                             @Value("${catalog.list-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.mappers = Map.of(
+            MediaType.APPLICATION_JSON, objectMapper,
+            SMILE, smileConverter.getObjectMapper(),
+            MediaType.APPLICATION_CBOR, cborConverter.getObjectMapper());
+        this.enabled = enabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, Entry entry) -> entry.weight())
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The format Spring would pick for Accept among JSON, Smile and CBOR; null for anything else
+    public MediaType negotiate(List<MediaType> accepted) {
+        if (accepted.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> byQuality = new ArrayList<>(accepted);
+        byQuality.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : byQuality) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            for (MediaType format : List.of(MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR)) {
+                if (type.includes(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Slices whose approximate total is still being counted are served but not stored,
+    // so the estimate shows up as soon as it is ready instead of after the next write.
+    public Entry get(long version, MediaType format, String query, Supplier<Object> body) {
+        Entry[] provisional = new Entry[1];
+        Entry entry = cache.get(new Key(version, format, query), key -> {
+            Entry loaded = serialize(format, body.get());
+            if (loaded.isProvisional()) {
+                provisional[0] = loaded;
+                return null;
+            }
+            return loaded;
+        });
+        if (entry != null) {
+            return entry;
+        }
+        // A caller that waited on someone else's provisional load gets nothing back and loads its own
+        return provisional[0] != null ? provisional[0] : serialize(format, body.get());
+    }
+
+    private Entry serialize(MediaType format, Object body) {
+        try {
+            return new Entry(mappers.get(format).writeValueAsBytes(body), isProvisional(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A count-free slice (or its sparse form) before the estimator has a total
+    public static boolean isProvisional(Object body) {
+        if (body instanceof SliceResponse<?> slice) {
+            return slice.getApproximateTotal() == null;
+        }
+        return body instanceof JsonNode node && node.has("approximateTotal") && node.get("approximateTotal").isNull();
+    }
+
+    // Only worth compressing past a few packets; below that the header costs more than it saves
+    public boolean shouldGzip(Entry entry) {
+        return entry.bytes().length >= gzipMinBytes;
+    }
+
+    public Cache<Key, Entry> getNativeCache() {
+        return cache;
+    }
+
+    public record Key(long version, MediaType format, String query) {}
+
+    public static final class Entry {
+
+        private final byte[] bytes;
+        private final boolean provisional;
+        private volatile byte[] gzipped;
+
+        Entry(byte[] bytes, boolean provisional) {
+            this.bytes = bytes;
+            this.provisional = provisional;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        public boolean isProvisional() {
+            return provisional;
+        }
+
+        // Compressed on first request from a gzip-capable client, then reused
+        public byte[] gzipped() {
+            byte[] compressed = gzipped;
+            if (compressed == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(bytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = out.toByteArray();
+                gzipped = compressed;
+            }
+            return compressed;
+        }
+
+        // The gzipped copy is usually a fraction of the raw size; count it as half
+        int weight() {
+            return bytes.length + bytes.length / 2;
+        }
+    }
+}
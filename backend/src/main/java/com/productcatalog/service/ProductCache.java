@@ -0,0 +1,62 @@
+package com.productcatalog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.productcatalog.dto.CacheStatsResponse;
+import com.productcatalog.dto.ProductResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of product detail responses keyed by id.
+ * Entries are evicted by size (W-TinyLFU, which suits the skewed popularity
+ * of detail pages) and by TTL, and invalidated by ProductService writes.
+ */
+@Component
+public class ProductCache {
+    
+    private final Cache<Long, ProductResponse> cache;
+    private final long maxSize;
+    
+    public ProductCache(@Value("${catalog.product-cache.max-size:10000}") long maxSize,
+                        @Value("${catalog.product-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+    
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        return cache.get(id, loader);
+    }
+    
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+    
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    public Cache<Long, ProductResponse> getNativeCache() {
+        return cache;
+    }
+    
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+            cache.estimatedSize(),
+            maxSize,
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount(),
+            stats.hitRate()
+        );
+    }
+}
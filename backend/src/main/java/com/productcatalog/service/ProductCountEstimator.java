@@ -0,0 +1,80 @@
+package com.productcatalog.service;
+
+import com.productcatalog.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Cached "about N results" totals for filter combinations. Stale or missing
+ * entries are recounted in the background; callers never wait for COUNT(*).
+ */
+@Component
+public class ProductCountEstimator {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
+    
+    @Value("${catalog.count-estimate.ttl-ms:30000}")
+    private long ttlMs = 30000;
+    
+    @Value("${catalog.count-estimate.max-entries:1000}")
+    private int maxEntries = 1000;
+    
+    private final Map<Key, Estimate> estimates = new ConcurrentHashMap<>();
+    private final Map<Key, Boolean> refreshing = new ConcurrentHashMap<>();
+    
+    // Returns the last known total, or null if this combination was never counted. The search is
+    // counted exactly as the listing matches it; only the key ignores case, as the LIKE does.
+    public Long estimate(String category, String search) {
+        String text = search == null ? "" : search;
+        Key key = new Key(category, text.toLowerCase(Locale.ROOT));
+        Estimate estimate = estimates.get(key);
+        if (estimate == null || System.currentTimeMillis() - estimate.countedAt() > ttlMs) {
+            scheduleRefresh(key, text);
+        }
+        return estimate == null ? null : estimate.count();
+    }
+    
+    private void scheduleRefresh(Key key, String search) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    long count = productRepository.countWithFilters(key.category(), search);
+                    if (estimates.size() >= maxEntries && !estimates.containsKey(key)) {
+                        evictOldest();
+                    }
+                    estimates.put(key, new Estimate(count, System.currentTimeMillis()));
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            throw e;
+        }
+    }
+    
+    private void evictOldest() {
+        estimates.entrySet().stream()
+            .min((a, b) -> Long.compare(a.getValue().countedAt(), b.getValue().countedAt()))
+            .ifPresent(oldest -> estimates.remove(oldest.getKey()));
+    }
+    
+    private record Key(String category, String search) {}
+    
+    private record Estimate(long count, long countedAt) {}
+}
@@ -0,0 +1,70 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.entity.Product;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+// Opaque keyset position: sort field, direction, last sort value and last id
+record ProductCursor(String sortBy, boolean ascending, Comparable<?> value, Long id) {
+    
+    static final Set<String> SORT_FIELDS = Set.of("id", "price", "createdAt", "updatedAt");
+    
+    // Timestamps are null on rows inserted outside JPA (e.g. sample-data.sql)
+    private static final String NULL_VALUE = "null";
+    
+    static ProductCursor of(Product product, String sortBy, boolean ascending) {
+        return new ProductCursor(sortBy, ascending, sortValue(sortBy, product.getId(), product.getPrice(),
+            product.getCreatedAt(), product.getUpdatedAt()), product.getId());
+    }
+    
+    static ProductCursor of(ProductSummary summary, String sortBy, boolean ascending) {
+        return new ProductCursor(sortBy, ascending, sortValue(sortBy, summary.getId(), summary.getPrice(),
+            summary.getCreatedAt(), summary.getUpdatedAt()), summary.getId());
+    }
+    
+    String encode() {
+        String raw = sortBy + "|" + (ascending ? "asc" : "desc") + "|" + (value == null ? NULL_VALUE : value) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !SORT_FIELDS.contains(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new ProductCursor(parts[0], "asc".equals(parts[1]),
+                parseValue(parts[0], parts[2]), Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+    
+    private static Comparable<?> sortValue(String sortBy, Long id, BigDecimal price,
+                                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return switch (sortBy) {
+            case "price" -> price;
+            case "createdAt" -> createdAt;
+            case "updatedAt" -> updatedAt;
+            default -> id;
+        };
+    }
+    
+    private static Comparable<?> parseValue(String sortBy, String value) {
+        if (NULL_VALUE.equals(value) && ("createdAt".equals(sortBy) || "updatedAt".equals(sortBy))) {
+            return null;
+        }
+        return switch (sortBy) {
+            case "price" -> new BigDecimal(value);
+            case "createdAt", "updatedAt" -> LocalDateTime.parse(value);
+            default -> Long.valueOf(value);
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.productcatalog.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Streams the catalog row by row; memory use does not depend on the number of products
+@Service
+@Timed(value = "catalog.service", histogram = true)
+public class ProductExportService {
+    
+    // Binary formats are sequences of root values: Smile natively, CBOR as an RFC 8742 sequence
+    public static final Map<String, MediaType> FORMATS = Map.of(
+        "ndjson", MediaType.APPLICATION_NDJSON,
+        "csv", MediaType.parseMediaType("text/csv"),
+        "smile", MediaType.parseMediaType("application/x-jackson-smile"),
+        "cbor", MediaType.parseMediaType("application/cbor-seq"));
+    
+    private static final CsvMapper CSV_MAPPER = (CsvMapper) new CsvMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+        .addColumn("id")
+        .addColumn("productName")
+        .addColumn("category")
+        .addColumn("description")
+        .addColumn("price")
+        .addColumn("stockQuantity")
+        .addColumn("supplier")
+        .addColumn("createdAt")
+        .addColumn("updatedAt")
+        .build()
+        .withHeader();
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(readOnly = true)
+    public void export(String format, String category, String search, OutputStream out) throws IOException {
+        ObjectWriter writer = switch (format) {
+            case "csv" -> CSV_MAPPER.writerFor(ProductResponse.class).with(CSV_SCHEMA);
+            case "smile" -> objectMapper.copyWith(new SmileFactory()).writerFor(ProductResponse.class);
+            case "cbor" -> objectMapper.copyWith(new CBORFactory()).writerFor(ProductResponse.class);
+            default -> objectMapper.writerFor(ProductResponse.class).withRootValueSeparator("\n");
+        };
+        writer = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        
+        try (Stream<Product> products = productRepository.streamWithFilters(category, search);
+             SequenceWriter rows = writer.writeValues(out)) {
+            Iterator<Product> iterator = products.iterator();
+            boolean empty = !iterator.hasNext();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                rows.write(new ProductResponse(product));
+                // Keep the persistence context from accumulating every streamed row
+                entityManager.detach(product);
+            }
+            if ("ndjson".equals(format) && !empty) {
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+    
+    // First format named in Accept, in the client's order; ndjson when none is
+    public String formatFor(List<MediaType> accepted) {
+        for (MediaType type : accepted) {
+            for (Map.Entry<String, MediaType> format : FORMATS.entrySet()) {
+                if (type.equalsTypeAndSubtype(format.getValue())) {
+                    return format.getKey();
+                }
+            }
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+        }
+        return "ndjson";
+    }
+}
@@ -0,0 +1,152 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.BatchItemResult;
+import com.productcatalog.dto.BatchResponse;
+import com.productcatalog.dto.ErrorResponse;
+import com.productcatalog.dto.ProductRequest;
+import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ProductBatchRepository;
+import com.productcatalog.repository.ProductChangeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+// Bulk catalog loads: items are validated one by one and inserted in JDBC batches,
+// each batch in its own transaction so a bad batch does not roll back the whole load.
+@Service
+@Timed(value = "catalog.service", histogram = true)
+public class ProductIngestService {
+    
+    @Autowired
+    private ProductBatchRepository batchRepository;
+    
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private CategoryCounters categoryCounters;
+    
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private CatalogVersion catalogVersion;
+    
+    @Value("${catalog.batch.size:1000}")
+    private int batchSize = 1000;
+    
+    @Value("${catalog.batch.max-items:500000}")
+    private int maxItems = 500000;
+    
+    public BatchResponse ingest(Iterator<ProductRequest> items) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Product> pending = new ArrayList<>(batchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(batchSize);
+        
+        int index = 0;
+        try {
+            while (items.hasNext()) {
+                if (index >= maxItems) {
+                    results.add(new BatchItemResult(index, BatchItemResult.INVALID, null,
+                        "Batch exceeds the limit of " + maxItems + " items", null));
+                    break;
+                }
+                ProductRequest item = items.next();
+                List<ErrorResponse.FieldError> errors = validate(item);
+                if (errors.isEmpty()) {
+                    pending.add(toProduct(item));
+                    pendingIndexes.add(index);
+                } else {
+                    results.add(new BatchItemResult(index, BatchItemResult.INVALID, null, "Validation failed", errors));
+                }
+                index++;
+                
+                if (pending.size() == batchSize) {
+                    flush(pending, pendingIndexes, results);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Malformed JSON/NDJSON: keep what was read so far and report where parsing stopped
+            results.add(new BatchItemResult(index, BatchItemResult.INVALID, null,
+                "Malformed input: " + e.getMessage(), null));
+        }
+        flush(pending, pendingIndexes, results);
+        
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        return new BatchResponse(results);
+    }
+    
+    private void flush(List<Product> pending, List<Integer> pendingIndexes, List<BatchItemResult> results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batchRepository.insertAll(pending);
+                changeRepository.record(ProductChangeRepository.CREATE, pending.stream().map(Product::getId).toList());
+            });
+            for (int i = 0; i < pending.size(); i++) {
+                Product product = pending.get(i);
+                results.add(new BatchItemResult(pendingIndexes.get(i), BatchItemResult.CREATED, product.getId(), null, null));
+                searchIndex.index(product);
+                suggestionIndex.index(product);
+                categoryCounters.increment(product.getCategory());
+            }
+            catalogVersion.bump();
+        } catch (RuntimeException e) {
+            for (Integer pendingIndex : pendingIndexes) {
+                results.add(new BatchItemResult(pendingIndex, BatchItemResult.FAILED, null, e.getMessage(), null));
+            }
+        }
+        pending.clear();
+        pendingIndexes.clear();
+    }
+    
+    private List<ErrorResponse.FieldError> validate(ProductRequest item) {
+        List<ErrorResponse.FieldError> errors = new ArrayList<>();
+        if (item == null) {
+            errors.add(new ErrorResponse.FieldError("item", "Product must not be null"));
+            return errors;
+        }
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(item);
+        for (ConstraintViolation<ProductRequest> violation : violations) {
+            errors.add(new ErrorResponse.FieldError(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        return errors;
+    }
+    
+    private Product toProduct(ProductRequest item) {
+        Product product = new Product(
+            item.getProductName(),
+            item.getCategory(),
+            item.getDescription(),
+            item.getPrice(),
+            item.getStockQuantity(),
+            item.getSupplier()
+        );
+        LocalDateTime now = LocalDateTime.now();
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        return product;
+    }
+}
@@ -0,0 +1,15 @@
+package com.productcatalog.service;
+
+public class ProductNotFoundException extends RuntimeException {
+    
+    private final Long productId;
+    
+    public ProductNotFoundException(Long productId) {
+        super("Product not found with id: " + productId);
+        this.productId = productId;
+    }
+    
+    public Long getProductId() {
+        return productId;
+    }
+}
@@ -0,0 +1,262 @@
+package com.productcatalog.service;
+
+import com.productcatalog.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-process index that narrows a search to the products that can match the database
+ * filter: the search string is a substring of the product name or description, and the
+ * category is equal, both compared case- and accent-insensitively like the default
+ * utf8mb4 collation. Only tokens are kept, not the text: the search's first token must
+ * end a word, inner tokens must be whole words and the last must start one. A search of
+ * one bare word is answered exactly; for anything else the result is a superset that the
+ * caller checks against the database (see isExact).
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int GRAM = 3;
+
+    private final NavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    // Trigrams of every token in postings, for words containing a search term
+    private final Map<String, Set<String>> tokenGrams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> categories = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedDocument> documents = new ConcurrentHashMap<>();
+
+    private volatile boolean ready = false;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public synchronized void index(Product product) {
+        remove(product.getId());
+
+        Set<String> words = new HashSet<>(tokenize(fold(product.getProductName())));
+        words.addAll(tokenize(fold(product.getDescription())));
+        String[] tokens = new String[words.size()];
+        int i = 0;
+        for (String word : words) {
+            postings.computeIfAbsent(word, t -> {
+                for (String gram : grams(t)) {
+                    tokenGrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(t);
+                }
+                return ConcurrentHashMap.newKeySet();
+            }).add(product.getId());
+            // The instance held as key, so documents share it instead of keeping their own copy
+            tokens[i++] = postings.ceilingKey(word);
+        }
+        String category = fold(product.getCategory());
+        if (category != null) {
+            categories.computeIfAbsent(category, c -> ConcurrentHashMap.newKeySet()).add(product.getId());
+        }
+        documents.put(product.getId(), new IndexedDocument(tokens, category));
+    }
+
+    public synchronized void remove(Long id) {
+        IndexedDocument document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String token : document.tokens()) {
+            postings.computeIfPresent(token, (t, ids) -> {
+                ids.remove(id);
+                if (!ids.isEmpty()) {
+                    return ids;
+                }
+                for (String gram : grams(t)) {
+                    removeEntry(tokenGrams, gram, t);
+                }
+                return null;
+            });
+        }
+        if (document.category() != null) {
+            removeEntry(categories, document.category(), id);
+        }
+    }
+
+    /**
+     * Resolves a search string and optional category to candidate product ids, sorted
+     * ascending; exactly the matches when isExact(search), otherwise a superset of them.
+     * A blank search matches every product in the category. Returns null when the index
+     * cannot narrow the search to at most limit candidates without scanning its vocabulary
+     * (LIKE wildcards, words shorter than a trigram, words too common), so the database
+     * should evaluate it instead.
+     */
+    public List<Long> search(String search, String category, int limit) {
+        if (search != null && (search.indexOf('%') >= 0 || search.indexOf('_') >= 0 || search.indexOf('\\') >= 0)) {
+            return null;
+        }
+        String text = search == null || search.isBlank() ? null : fold(search);
+        List<Set<Long>> candidates = new ArrayList<>();
+
+        if (category != null) {
+            candidates.add(categories.getOrDefault(fold(category), Collections.emptySet()));
+        }
+        if (text != null) {
+            List<String> terms = tokenize(text);
+            boolean narrowed = false;
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Set<Long> ids;
+                if (terms.size() == 1) {
+                    ids = containing(term, token -> true, limit);
+                } else if (i == 0) {
+                    ids = containing(term, token -> token.endsWith(term), limit);
+                } else if (i == terms.size() - 1) {
+                    ids = prefixMatches(term, limit);
+                } else {
+                    ids = postings.getOrDefault(term, Collections.emptySet());
+                }
+                // A term the index cannot bound narrows nothing; the caller's check still applies it
+                if (ids != null) {
+                    candidates.add(ids);
+                    narrowed = true;
+                }
+            }
+            if (!narrowed) {
+                return null;
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates.add(documents.keySet());
+        }
+
+        // Intersect starting from the most selective set
+        candidates.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        if (candidates.get(0).size() > limit) {
+            return null;
+        }
+        List<Long> result = new ArrayList<>();
+        outer:
+        for (Long id : candidates.get(0)) {
+            for (int i = 1; i < candidates.size(); i++) {
+                if (!candidates.get(i).contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    // True when search() returns exactly the matching ids: a blank search, or one word with
+    // nothing around it, which is in the text wherever a token containing it is
+    public static boolean isExact(String search) {
+        if (search == null || search.isBlank()) {
+            return true;
+        }
+        String text = fold(search);
+        List<String> terms = tokenize(text);
+        return terms.size() == 1 && terms.get(0).equals(text);
+    }
+
+    // Ids of words starting with the prefix, or null when it is too short or too common to bound
+    private Set<Long> prefixMatches(String prefix, int limit) {
+        if (prefix.length() < GRAM) {
+            return null;
+        }
+        Set<Long> union = new HashSet<>();
+        for (Set<Long> ids : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (!addBounded(union, ids, limit)) {
+                return null;
+            }
+        }
+        return union;
+    }
+
+    // Ids of words containing the term that also pass the filter, or null when the term is
+    // too short to look up by trigram or the words hold more than limit products
+    private Set<Long> containing(String term, Predicate<String> filter, int limit) {
+        if (term.length() < GRAM) {
+            return null;
+        }
+        Set<String> tokens = null;
+        for (String gram : grams(term)) {
+            Set<String> withGram = tokenGrams.getOrDefault(gram, Collections.emptySet());
+            if (tokens == null || withGram.size() < tokens.size()) {
+                tokens = withGram;
+            }
+        }
+        Set<Long> union = new HashSet<>();
+        for (String token : tokens) {
+            if (token.contains(term) && filter.test(token)
+                    && !addBounded(union, postings.getOrDefault(token, Collections.emptySet()), limit)) {
+                return null;
+            }
+        }
+        return union;
+    }
+
+    private static boolean addBounded(Set<Long> union, Set<Long> ids, int limit) {
+        if (ids.size() > limit) {
+            return false;
+        }
+        union.addAll(ids);
+        return union.size() <= limit;
+    }
+
+    private static <K, V> void removeEntry(Map<K, Set<V>> map, K key, V value) {
+        map.computeIfPresent(key, (k, values) -> {
+            values.remove(value);
+            return values.isEmpty() ? null : values;
+        });
+    }
+
+    private static Set<String> grams(String token) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Lower case without accents, matching how the database collation compares text
+    static String fold(String text) {
+        if (text == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Tokens are the posting keys themselves; the text is not kept
+    private record IndexedDocument(String[] tokens, String category) {}
+}
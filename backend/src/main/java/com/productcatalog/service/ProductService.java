@@ -1,42 +1,360 @@
 package com.productcatalog.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.ChangeFeedResponse;
+import com.productcatalog.dto.CursorPageResponse;
+import com.productcatalog.dto.FacetResponse;
+import com.productcatalog.dto.PriceBatchResponse;
+import com.productcatalog.dto.PriceBucket;
+import com.productcatalog.dto.PriceUpdate;
+import com.productcatalog.dto.ProductChange;
 import com.productcatalog.dto.ProductRequest;
 import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.dto.SliceResponse;
+import com.productcatalog.dto.StockAdjustmentRequest;
+import com.productcatalog.dto.StockAdjustmentResponse;
+import com.productcatalog.dto.Suggestion;
 import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ChangeLogEntry;
+import com.productcatalog.repository.FacetCount;
+import com.productcatalog.repository.ProductBatchRepository;
+import com.productcatalog.repository.ProductChangeRepository;
 import com.productcatalog.repository.ProductRepository;
+import com.productcatalog.repository.ProductSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
-@Transactional
+@Timed(value = "catalog.service", histogram = true)
+@Transactional(readOnly = true)
 public class ProductService {
     
+    private static final Set<String> PATCHABLE_FIELDS = Set.of(
+        "productName", "category", "description", "price", "stockQuantity", "supplier");
+    
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    
+    @Autowired
+    private ProductCountEstimator countEstimator;
+    
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private CategoryCounters categoryCounters;
+    
+    @Autowired
+    private CatalogVersion catalogVersion;
+    
+    @Autowired
+    private StockReservationEngine reservationEngine;
+    
+    @Autowired
+    private ProductBatchRepository batchRepository;
+    
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private ProductChangeRepository changeRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${catalog.changes.max-limit:1000}")
+    private int maxChangeLimit = 1000;
+    
+    @Value("${catalog.search.index.max-candidates:10000}")
+    private int maxIndexCandidates = 10000;
+    
+    @Value("${catalog.facets.price-buckets:10,25,50,100,250}")
+    private BigDecimal[] priceBucketBounds = {
+        new BigDecimal("10"), new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("250")};
+    
     public Page<ProductResponse> getAllProducts(String search, String category, 
                                               int page, int size, String sortBy, String sortDir) {
+        Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+        
+        Page<Product> products = findIndexed(search, category, pageable);
+        if (products == null) {
+            products = productRepository.findProductsWithFilters(category, search, pageable);
+        }
+        
+        return products.map(ProductResponse::new);
+    }
+    
+    // Count-free listing: hasNext comes from fetching one extra row, the total is a cached estimate
+    public SliceResponse<ProductResponse> getProductSlice(String search, String category,
+                                                          int page, int size, String sortBy, String sortDir) {
+        Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+        
+        // The index already knows the exact total for free
+        Page<Product> indexed = findIndexed(search, category, pageable);
+        if (indexed != null) {
+            return new SliceResponse<>(indexed.map(ProductResponse::new).getContent(),
+                page, size, indexed.hasNext(), indexed.getTotalElements());
+        }
+        
+        Slice<Product> products = productRepository.findSliceWithFilters(category, search, pageable);
+        return new SliceResponse<>(products.map(ProductResponse::new).getContent(),
+            page, size, products.hasNext(), countEstimator.estimate(category, search));
+    }
+    
+    private Pageable pageRequest(int page, int size, String sortBy, String sortDir) {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        return PageRequest.of(page, size, sort);
+    }
+    
+    // Resolves the filters through the search index so the database only serves the page rows.
+    // Returns null when the index cannot answer and the LIKE query should be used.
+    private Page<Product> findIndexed(String search, String category, Pageable pageable) {
+        List<Long> ids = indexedIds(search, category);
+        if (ids == null) {
+            return null;
+        }
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (pageable.getOffset() >= ids.size()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+        
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        if (idOrder != null && pageable.getSort().stream().count() == 1) {
+            // Ids come back sorted, so the page can be sliced before touching the database
+            List<Long> ordered = idOrder.isAscending() ? ids : ids.reversed();
+            int from = (int) pageable.getOffset();
+            int to = Math.min(from + pageable.getPageSize(), ordered.size());
+            List<Long> pageIds = ordered.subList(from, to);
+            
+            Comparator<Product> byId = Comparator.comparing(Product::getId);
+            List<Product> rows = productRepository.findAllById(pageIds);
+            rows.sort(idOrder.isAscending() ? byId : byId.reversed());
+            return new PageImpl<>(rows, pageable, ids.size());
+        }
+        
+        return new PageImpl<>(productRepository.findByIdIn(ids, pageable), pageable, ids.size());
+    }
+    
+    // Ids matching the filters according to the search index, or null when the database has to
+    // evaluate them: no search text, index still loading, LIKE wildcards, short or common words, or
+    // too many ids for an IN list. Candidates for anything but a single word are checked by primary key
+    // against the same LIKE. Every listing, summary and facet path goes through here so they all agree.
+    private List<Long> indexedIds(String search, String category) {
+        if (!StringUtils.hasText(search) || !searchIndex.isReady()) {
+            return null;
+        }
+        List<Long> ids = searchIndex.search(search, category, maxIndexCandidates);
+        if (ids == null || ids.isEmpty() || ProductSearchIndex.isExact(search)) {
+            return ids;
+        }
+        return productRepository.findIdsMatching(ids, search);
+    }
+    
+    // Keyset pagination: each page seeks past the previous (sort value, id) instead of using OFFSET
+    public CursorPageResponse<ProductResponse> getProductsAfter(String search, String category, String after,
+                                                                int size, String sortBy, String sortDir) {
+        return seek(search, category, after, size, sortBy, sortDir,
+            (spec, sort) -> productRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all()),
+            ProductResponse::new, ProductCursor::of);
+    }
+    
+    // Summary rows (all columns but description) for list views, in the same three paging modes
+    public Page<ProductSummary> getProductSummaries(String search, String category,
+                                                    int page, int size, String sortBy, String sortDir) {
+        Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+        Specification<Product> spec = filterSpecification(search, category);
+        if (spec == null) {
+            return Page.empty(pageable);
+        }
+        List<ProductSummary> rows = productRepository.findSummaries(
+            spec, pageable.getSort(), pageable.getOffset(), size);
+        return PageableExecutionUtils.getPage(rows, pageable, () -> productRepository.count(spec));
+    }
+    
+    public SliceResponse<ProductSummary> getProductSummarySlice(String search, String category,
+                                                                int page, int size, String sortBy, String sortDir) {
+        Pageable pageable = pageRequest(page, size, sortBy, sortDir);
+        Specification<Product> spec = filterSpecification(search, category);
+        if (spec == null) {
+            return new SliceResponse<>(List.of(), page, size, false, 0L);
+        }
+        List<ProductSummary> rows = productRepository.findSummaries(
+            spec, pageable.getSort(), pageable.getOffset(), size + 1);
+        boolean hasNext = rows.size() > size;
+        return new SliceResponse<>(hasNext ? rows.subList(0, size) : rows,
+            page, size, hasNext, countEstimator.estimate(category, search));
+    }
+    
+    public CursorPageResponse<ProductSummary> getProductSummariesAfter(String search, String category, String after,
+                                                                       int size, String sortBy, String sortDir) {
+        return seek(search, category, after, size, sortBy, sortDir,
+            (spec, sort) -> productRepository.findSummaries(spec, sort, 0, size + 1),
+            Function.identity(), ProductCursor::of);
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T, R> CursorPageResponse<R> seek(String search, String category, String after,
+                                              int size, String sortBy, String sortDir,
+                                              BiFunction<Specification<Product>, Sort, List<T>> fetch,
+                                              Function<T, R> mapper, CursorFactory<T> cursorFactory) {
+        ProductCursor cursor = StringUtils.hasText(after) ? ProductCursor.decode(after) : null;
+        if (cursor != null) {
+            sortBy = cursor.sortBy();
+            sortDir = cursor.ascending() ? "asc" : "desc";
+        }
+        if (!ProductCursor.SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by " + ProductCursor.SORT_FIELDS);
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        boolean ascending = !sortDir.equalsIgnoreCase("desc");
         
-        Pageable pageable = PageRequest.of(page, size, sort);
+        Specification<Product> spec = filterSpecification(search, category);
+        if (spec == null) {
+            return new CursorPageResponse<>(List.of(), null, size);
+        }
+        if (cursor != null) {
+            spec = spec.and(ProductSpecifications.after(sortBy, (Comparable) cursor.value(), cursor.id(), ascending));
+        }
         
-        Page<Product> products = productRepository.findProductsWithFilters(category, search, pageable);
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "id".equals(sortBy) ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
         
-        return products.map(ProductResponse::new);
+        // One extra row tells us whether another page exists without a count query
+        List<T> rows = fetch.apply(spec, sort);
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = cursorFactory.of(rows.get(size - 1), sortBy, ascending).encode();
+        }
+        
+        return new CursorPageResponse<>(rows.stream().map(mapper).toList(), nextCursor, size);
+    }
+    
+    @FunctionalInterface
+    private interface CursorFactory<T> {
+        ProductCursor of(T row, String sortBy, boolean ascending);
+    }
+    
+    // Builds the filter criteria, preferring index-resolved ids over LIKE. Returns null if nothing can match.
+    private Specification<Product> filterSpecification(String search, String category) {
+        List<Long> ids = indexedIds(search, category);
+        if (ids == null) {
+            return ProductSpecifications.withFilters(category, search);
+        }
+        return ids.isEmpty() ? null : ProductSpecifications.idIn(ids);
+    }
+    
+    // Sidebar counts from one grouped query. Counts are disjunctive: the category facet ignores
+    // the selected category so the other choices stay visible, while total, supplier and price
+    // counts apply every filter, like the listing.
+    public FacetResponse getFacets(String search, String category) {
+        BigDecimal[] bounds = priceBucketBounds.clone();
+        Arrays.sort(bounds);
+        
+        Map<String, Long> categories = new TreeMap<>();
+        Map<String, Long> suppliers = new TreeMap<>();
+        long[] bucketCounts = new long[bounds.length + 1];
+        long total = 0;
+        
+        Specification<Product> spec = filterSpecification(search, null);
+        List<FacetCount> groups = spec == null ? List.of() : productRepository.countFacets(spec, bounds);
+        String selected = category == null ? null : ProductSearchIndex.fold(category);
+        for (FacetCount group : groups) {
+            if (group.category() != null) {
+                categories.merge(group.category(), group.total(), Long::sum);
+            }
+            // Same case- and accent-insensitive match as the category column
+            if (selected != null && !selected.equals(ProductSearchIndex.fold(group.category()))) {
+                continue;
+            }
+            total += group.total();
+            if (group.supplier() != null) {
+                suppliers.merge(group.supplier(), group.total(), Long::sum);
+            }
+            bucketCounts[group.priceBucket()] += group.total();
+        }
+        
+        List<PriceBucket> priceBuckets = new ArrayList<>();
+        for (int i = 0; i <= bounds.length; i++) {
+            priceBuckets.add(new PriceBucket(i == 0 ? null : bounds[i - 1],
+                i == bounds.length ? null : bounds[i], bucketCounts[i]));
+        }
+        return new FacetResponse(total, categories, suppliers, priceBuckets);
+    }
+    
+    // Typeahead from the in-memory prefix index; until it has loaded, a bounded name lookup
+    public List<Suggestion> suggest(String query, int limit) {
+        int size = Math.max(1, Math.min(limit, suggestionIndex.getMaxResults()));
+        if (suggestionIndex.isReady()) {
+            return suggestionIndex.suggest(query, size);
+        }
+        if (!StringUtils.hasText(query)) {
+            return List.of();
+        }
+        return productRepository.findByProductNameContainingIgnoreCase(query.trim(), PageRequest.of(0, size))
+            .map(p -> new Suggestion(p.getProductName(), Suggestion.PRODUCT, p.getId()))
+            .getContent();
     }
     
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
-        return new ProductResponse(product);
+        return productCache.get(id, key -> SharedReads.run(() -> {
+            Product product = productRepository.findById(key)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + key));
+            return new ProductResponse(product);
+        }));
     }
     
+    @Transactional
     public ProductResponse createProduct(ProductRequest productRequest) {
         Product product = new Product(
             productRequest.getProductName(),
@@ -48,12 +366,80 @@ public class ProductService {
         );
         
         Product savedProduct = productRepository.save(product);
+        changeRepository.record(ProductChangeRepository.CREATE, List.of(savedProduct.getId()));
+        afterCommit(() -> {
+            searchIndex.index(savedProduct);
+            suggestionIndex.index(savedProduct);
+            categoryCounters.increment(savedProduct.getCategory());
+            catalogVersion.bump();
+        });
         return new ProductResponse(savedProduct);
     }
     
+    @Transactional
     public ProductResponse updateProduct(Long id, ProductRequest productRequest) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        return applyUpdate(product, productRequest, true);
+    }
+    
+    // JSON Merge Patch: absent fields keep their value and null clears optional ones. The merged
+    // result is validated like a full update; @DynamicUpdate writes only the columns that changed.
+    @Transactional
+    public ProductResponse patchProduct(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown or read-only field: " + field);
+            }
+        });
+        
+        Product product = productRepository.findById(id)
+            .orElseThrow(() -> new ProductNotFoundException(id));
+        ProductRequest merged;
+        try {
+            merged = objectMapper.readerForUpdating(toRequest(product)).readValue(patch);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+        }
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(merged);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return applyUpdate(product, merged, patch.has("stockQuantity"));
+    }
+    
+    // Price feeds: one transaction, price-only JDBC batch UPDATEs, no entities loaded
+    @Transactional
+    public PriceBatchResponse updatePrices(List<PriceUpdate> items) {
+        // Last price wins for repeated ids; id order keeps row lock order stable across concurrent feeds
+        Map<Long, BigDecimal> prices = new TreeMap<>();
+        for (PriceUpdate item : items) {
+            prices.put(item.getId(), item.getPrice());
+        }
+        Set<Long> existing = new HashSet<>(productRepository.findExistingIds(prices.keySet()));
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : prices.keySet()) {
+            if (!existing.contains(id)) {
+                missingIds.add(id);
+            }
+        }
+        prices.keySet().removeAll(missingIds);
+        
+        batchRepository.updatePrices(prices, LocalDateTime.now());
+        changeRepository.record(ProductChangeRepository.UPDATE, prices.keySet());
+        afterCommit(() -> {
+            prices.keySet().forEach(productCache::invalidate);
+            catalogVersion.bump();
+        });
+        return new PriceBatchResponse(items.size(), prices.size(), missingIds);
+    }
+    
+    private ProductResponse applyUpdate(Product product, ProductRequest productRequest, boolean stockReplaced) {
+        Long id = product.getId();
+        String previousCategory = product.getCategory();
         
         product.setProductName(productRequest.getProductName());
         product.setCategory(productRequest.getCategory());
@@ -63,14 +449,144 @@ public class ProductService {
         product.setSupplier(productRequest.getSupplier());
         
         Product updatedProduct = productRepository.save(product);
+        changeRepository.record(ProductChangeRepository.UPDATE, List.of(id));
+        afterCommit(() -> {
+            searchIndex.index(updatedProduct);
+            suggestionIndex.index(updatedProduct);
+            productCache.invalidate(id);
+            categoryCounters.move(previousCategory, updatedProduct.getCategory());
+            if (stockReplaced) {
+                reservationEngine.rebase(id, updatedProduct.getStockQuantity());
+            }
+            catalogVersion.bump();
+        });
         return new ProductResponse(updatedProduct);
     }
     
+    private static ProductRequest toRequest(Product product) {
+        return new ProductRequest(
+            product.getProductName(),
+            product.getCategory(),
+            product.getDescription(),
+            product.getPrice(),
+            product.getStockQuantity(),
+            product.getSupplier()
+        );
+    }
+    
+    @Transactional
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
         
         productRepository.delete(product);
+        changeRepository.record(ProductChangeRepository.DELETE, List.of(id));
+        afterCommit(() -> {
+            searchIndex.remove(id);
+            suggestionIndex.remove(id);
+            productCache.invalidate(id);
+            categoryCounters.decrement(product.getCategory());
+            reservationEngine.forget(id);
+            catalogVersion.bump();
+        });
+    }
+    
+    // While the reservation engine is enabled it owns stock and is the only writer, and no
+    // transaction is opened: its flush updates the database, the change log and the caches
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public StockAdjustmentResponse adjustStock(Long id, int delta, boolean allowNegative) {
+        if (reservationEngine.isEnabled()) {
+            StockAdjustmentResponse response = reservationEngine.adjust(id, delta, allowNegative);
+            suggestionIndex.updateStock(id, response.getStockQuantity());
+            return response;
+        }
+        return transactionTemplate.execute(status -> {
+            int stockQuantity = applyStockDelta(id, delta, allowNegative, LocalDateTime.now());
+            changeRepository.record(ProductChangeRepository.UPDATE, List.of(id));
+            afterCommit(() -> {
+                productCache.invalidate(id);
+                suggestionIndex.updateStock(id, stockQuantity);
+                catalogVersion.bump();
+            });
+            return new StockAdjustmentResponse(id, stockQuantity);
+        });
+    }
+    
+    // All lines apply or none do. Lines for the same product are merged and rows are
+    // updated in id order, so concurrent multi-line orders always lock in the same order.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<StockAdjustmentResponse> adjustStock(List<StockAdjustmentRequest> items) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        Map<Long, Boolean> allowNegative = new TreeMap<>();
+        for (StockAdjustmentRequest item : items) {
+            if (item.getProductId() == null) {
+                throw new IllegalArgumentException("Product id is required for every item");
+            }
+            deltas.merge(item.getProductId(), item.getDelta(), Integer::sum);
+            allowNegative.merge(item.getProductId(), item.isAllowNegative(), Boolean::logicalAnd);
+        }
+        if (reservationEngine.isEnabled()) {
+            List<StockAdjustmentResponse> results = reservationEngine.adjust(deltas, allowNegative);
+            results.forEach(result -> suggestionIndex.updateStock(result.getProductId(), result.getStockQuantity()));
+            return results;
+        }
+        
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<StockAdjustmentResponse> results = new ArrayList<>(deltas.size());
+            for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+                Long id = entry.getKey();
+                int stockQuantity = applyStockDelta(id, entry.getValue(), allowNegative.get(id), now);
+                results.add(new StockAdjustmentResponse(id, stockQuantity));
+            }
+            changeRepository.record(ProductChangeRepository.UPDATE, deltas.keySet());
+            afterCommit(() -> {
+                deltas.keySet().forEach(productCache::invalidate);
+                results.forEach(result -> suggestionIndex.updateStock(result.getProductId(), result.getStockQuantity()));
+                catalogVersion.bump();
+            });
+            return results;
+        });
+    }
+    
+    private int applyStockDelta(Long id, int delta, boolean allowNegative, LocalDateTime now) {
+        if (productRepository.adjustStock(id, delta, allowNegative, now) == 0) {
+            if (!productRepository.existsById(id)) {
+                throw new ProductNotFoundException(id);
+            }
+            throw new InsufficientStockException(id);
+        }
+        // The row stays locked by our UPDATE until commit, so this reads our own result
+        return productRepository.findStockQuantityById(id);
+    }
+    
+    // Log entries after ?since= with each product's current state (null once deleted), read in
+    // one transaction so both come from the same snapshot. Not read-only, so it reads the
+    // primary: a lagging replica may already show a later sequence but not an earlier one.
+    @Transactional
+    public ChangeFeedResponse getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int size = Math.max(1, Math.min(limit, maxChangeLimit));
+        List<ChangeLogEntry> entries = changeRepository.findSince(since, size + 1);
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = entries.subList(0, size);
+        }
+        
+        Set<Long> ids = new HashSet<>();
+        entries.forEach(entry -> ids.add(entry.productId()));
+        Map<Long, ProductResponse> products = new HashMap<>();
+        productRepository.findAllById(ids).forEach(product -> products.put(product.getId(), new ProductResponse(product)));
+        
+        List<ProductChange> changes = new ArrayList<>(entries.size());
+        for (ChangeLogEntry entry : entries) {
+            changes.add(new ProductChange(entry.sequence(), entry.changeType(), entry.productId(),
+                entry.changedAt(), products.get(entry.productId())));
+        }
+        long nextSince = entries.isEmpty() ? since : entries.get(entries.size() - 1).sequence();
+        return new ChangeFeedResponse(changes, nextSince, hasMore);
     }
     
     public boolean existsById(Long id) {
@@ -78,10 +594,30 @@ public class ProductService {
     }
     
     public long getTotalCount() {
+        if (categoryCounters.isReady()) {
+            return categoryCounters.total();
+        }
         return productRepository.count();
     }
     
     public long getCountByCategory(String category) {
+        if (categoryCounters.isReady()) {
+            return categoryCounters.count(category);
+        }
         return productRepository.countByCategory(category);
     }
+    
+    // In-memory structures must only see committed changes
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.productcatalog.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads whose results are shared beyond the requesting client: bodies kept in the
+ * product and list caches, or tagged with the catalog version as ETag. With read replicas
+ * enabled these are only served by a replica that has caught up with the last write to the
+ * catalog, so a cache entry or validator never pairs the current version with older rows.
+ */
+public final class SharedReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private SharedReads() {}
+
+    public static <T> T run(Supplier<T> read) {
+        if (isActive()) {
+            return read.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+}
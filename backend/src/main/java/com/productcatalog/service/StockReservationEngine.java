@@ -0,0 +1,516 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.StockAdjustmentResponse;
+import com.productcatalog.entity.StockFlushCheckpoint;
+import com.productcatalog.repository.ProductChangeRepository;
+import com.productcatalog.repository.ProductRepository;
+import com.productcatalog.repository.StockFlushCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory owner of stock for products under heavy reservation traffic.
+ * Products are spread over lock stripes by id; a reservation takes only its stripe's
+ * lock, checks and updates the in-memory quantity and appends the change to the
+ * stripe's journal file, without a database round trip. While enabled the engine is the
+ * only writer of stock: adjustments, reservations and releases all go through it. A
+ * scheduled flush writes the changes as deltas in one transaction together with the
+ * journal position it covers, and on startup every journal entry after that position is replayed.
+ * Journal writes reach the OS before a call returns, so they survive a process crash;
+ * catalog.reservations.journal-fsync also covers power loss at the cost of an fsync per call.
+ * Stock is owned per node, so with several instances reservations for a product must
+ * all be routed to the same one.
+ */
+@Component
+public class StockReservationEngine {
+
+    private static final Pattern JOURNAL_FILE = Pattern.compile("stripe-(\\d+)(?:-(\\d+))?\\.journal");
+    private static final long SEGMENT_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockFlushCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private ProductChangeRepository changeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${catalog.reservations.enabled:false}")
+    private boolean enabled;
+
+    @Value("${catalog.reservations.stripes:16}")
+    private int stripeCount = 16;
+
+    @Value("${catalog.reservations.node-id:local}")
+    private String nodeId = "local";
+
+    @Value("${catalog.reservations.journal-dir:data/stock-journal}")
+    private String journalDir = "data/stock-journal";
+
+    @Value("${catalog.reservations.journal-fsync:false}")
+    private boolean fsync;
+
+    private Stripe[] stripes;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Path dir = Paths.get(journalDir);
+        Files.createDirectories(dir);
+        Map<Integer, Long> sequences = recover(dir);
+
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            long sequence = sequences.containsKey(i) ? sequences.get(i) : lastCheckpoint(i);
+            stripes[i] = new Stripe(i, dir, sequence);
+        }
+        System.out.println("✅ Stock reservation engine enabled with " + stripeCount + " stripes, journal in " + dir.toAbsolutePath());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public StockAdjustmentResponse adjust(Long productId, int delta, boolean allowNegative) {
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            int next = current(stripe, productId) + delta;
+            if (!allowNegative && next < 0) {
+                throw new InsufficientStockException(productId);
+            }
+            Mark mark = stripe.mark();
+            try {
+                stripe.append(productId, Integer.toString(delta));
+            } catch (IOException e) {
+                stripe.rollback(mark);
+                throw new RuntimeException("Could not journal stock change for product with id: " + productId, e);
+            }
+            stripe.apply(productId, delta, next);
+            return new StockAdjustmentResponse(productId, next);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // All lines apply or none do: every stripe involved is locked, in index order, while all
+    // lines are checked and journaled; memory is only updated once every record is written,
+    // and a failed write takes the stripes' journals back to where the batch started. A crash
+    // between journal writes of different stripes can still leave only some of them to be replayed.
+    public List<StockAdjustmentResponse> adjust(Map<Long, Integer> deltas, Map<Long, Boolean> allowNegative) {
+        List<Stripe> involved = deltas.keySet().stream()
+            .map(this::stripeFor)
+            .distinct()
+            .sorted(Comparator.comparingInt(stripe -> stripe.index))
+            .toList();
+        involved.forEach(stripe -> stripe.lock.lock());
+        try {
+            Map<Long, Integer> next = new TreeMap<>();
+            for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+                Long productId = entry.getKey();
+                int value = current(stripeFor(productId), productId) + entry.getValue();
+                if (!allowNegative.get(productId) && value < 0) {
+                    throw new InsufficientStockException(productId);
+                }
+                next.put(productId, value);
+            }
+            Map<Stripe, Mark> marks = new HashMap<>();
+            for (Stripe stripe : involved) {
+                marks.put(stripe, stripe.mark());
+            }
+            try {
+                for (Map.Entry<Long, Integer> entry : next.entrySet()) {
+                    stripeFor(entry.getKey()).append(entry.getKey(), Integer.toString(deltas.get(entry.getKey())));
+                }
+            } catch (IOException e) {
+                marks.forEach(Stripe::rollback);
+                throw new RuntimeException("Could not journal stock changes", e);
+            }
+            List<StockAdjustmentResponse> results = new ArrayList<>(next.size());
+            for (Map.Entry<Long, Integer> entry : next.entrySet()) {
+                Long productId = entry.getKey();
+                stripeFor(productId).apply(productId, deltas.get(productId), entry.getValue());
+                results.add(new StockAdjustmentResponse(productId, entry.getValue()));
+            }
+            return results;
+        } finally {
+            involved.forEach(stripe -> stripe.lock.unlock());
+        }
+    }
+
+    // Caller holds the stripe's lock. The first touch of a product reads the database under
+    // that lock, so a rebase after a committed full update cannot land between read and put.
+    private int current(Stripe stripe, Long productId) {
+        Integer current = stripe.stock.get(productId);
+        if (current == null) {
+            current = productRepository.findStockQuantityById(productId);
+            if (current == null) {
+                throw new ProductNotFoundException(productId);
+            }
+            stripe.stock.put(productId, current);
+        }
+        return current;
+    }
+
+    // A full update replaced the stock in the database; the new value wins over what the
+    // engine held, and the next flush writes it as an absolute value (which also corrects
+    // older deltas a flush already under way may still add on top)
+    public void rebase(Long productId, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            if (!stripe.stock.containsKey(productId)) {
+                return;
+            }
+            Mark mark = stripe.mark();
+            try {
+                stripe.append(productId, "=" + quantity);
+            } catch (IOException e) {
+                stripe.rollback(mark);
+                System.err.println("Could not journal stock change for product " + productId + ": " + e.getMessage());
+                return;
+            }
+            stripe.stock.put(productId, quantity);
+            stripe.pending.remove(productId);
+            stripe.rebased.add(productId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void forget(Long productId) {
+        if (!enabled) {
+            return;
+        }
+        Stripe stripe = stripeFor(productId);
+        stripe.lock.lock();
+        try {
+            stripe.stock.remove(productId);
+            stripe.pending.remove(productId);
+            stripe.rebased.remove(productId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.reservations.flush-interval-ms:200}",
+               fixedDelayString = "${catalog.reservations.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            flush(stripe);
+        }
+    }
+
+    // Writes what changed since the last flush as deltas, so the database value is only ever
+    // moved by as much as the engine moved it; rebased products are written as absolute values
+    private void flush(Stripe stripe) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        Map<Long, Integer> absolutes = new TreeMap<>();
+        long upTo;
+        stripe.lock.lock();
+        try {
+            if (stripe.pending.isEmpty() && stripe.rebased.isEmpty()) {
+                return;
+            }
+            deltas.putAll(stripe.pending);
+            for (Long productId : stripe.rebased) {
+                absolutes.put(productId, stripe.stock.get(productId));
+            }
+            stripe.pending.clear();
+            stripe.rebased.clear();
+            upTo = stripe.sequence;
+            stripe.sealIfFull();
+        } catch (IOException e) {
+            System.err.println("Could not rotate stock journal for stripe " + stripe.index + ": " + e.getMessage());
+            return;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        Set<Long> changed = new TreeSet<>(deltas.keySet());
+        changed.addAll(absolutes.keySet());
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                absolutes.forEach((productId, quantity) -> productRepository.setStock(productId, quantity, now));
+                deltas.forEach((productId, delta) -> productRepository.adjustStock(productId, delta, true, now));
+                checkpointRepository.save(new StockFlushCheckpoint(checkpointId(stripe.index), upTo));
+                changeRepository.record(ProductChangeRepository.UPDATE, changed);
+            });
+        } catch (RuntimeException e) {
+            System.err.println("Stock flush failed for stripe " + stripe.index + ", will retry: " + e.getMessage());
+            stripe.lock.lock();
+            try {
+                for (Long productId : absolutes.keySet()) {
+                    if (stripe.stock.containsKey(productId)) {
+                        stripe.rebased.add(productId);
+                    }
+                }
+                deltas.forEach((productId, delta) -> {
+                    if (stripe.stock.containsKey(productId) && !stripe.rebased.contains(productId)) {
+                        stripe.pending.merge(productId, delta, Integer::sum);
+                    }
+                });
+            } finally {
+                stripe.lock.unlock();
+            }
+            return;
+        }
+
+        stripe.deleteSealed(upTo);
+        changed.forEach(productCache::invalidate);
+        catalogVersion.bump();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        for (Stripe stripe : stripes) {
+            stripe.close();
+        }
+    }
+
+    // Replays journal entries written after each stripe's last committed flush
+    private Map<Integer, Long> recover(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(dir)) {
+            files = listing.filter(path -> JOURNAL_FILE.matcher(path.getFileName().toString()).matches()).toList();
+        }
+
+        Map<Integer, List<String[]>> entriesByStripe = new TreeMap<>();
+        for (Path file : files) {
+            Matcher matcher = JOURNAL_FILE.matcher(file.getFileName().toString());
+            matcher.matches();
+            int stripe = Integer.parseInt(matcher.group(1));
+            String[] lines = Files.readString(file, StandardCharsets.US_ASCII).split("\n", -1);
+            // The last piece is empty, or a record torn by a crash mid-write
+            for (int i = 0; i < lines.length - 1; i++) {
+                String[] fields = lines[i].split(",");
+                if (fields.length == 3) {
+                    entriesByStripe.computeIfAbsent(stripe, s -> new ArrayList<>()).add(fields);
+                }
+            }
+        }
+
+        Map<Integer, Long> sequences = new HashMap<>();
+        for (Map.Entry<Integer, List<String[]>> entry : entriesByStripe.entrySet()) {
+            int stripe = entry.getKey();
+            long checkpoint = lastCheckpoint(stripe);
+            List<String[]> entries = new ArrayList<>(entry.getValue());
+            entries.sort(Comparator.comparingLong(fields -> Long.parseLong(fields[0])));
+
+            Map<Long, Integer> deltas = new TreeMap<>();
+            Map<Long, Integer> absolutes = new TreeMap<>();
+            long maxSequence = checkpoint;
+            for (String[] fields : entries) {
+                long sequence = Long.parseLong(fields[0]);
+                if (sequence <= checkpoint) {
+                    continue;
+                }
+                Long productId = Long.parseLong(fields[1]);
+                if (fields[2].startsWith("=")) {
+                    absolutes.put(productId, Integer.parseInt(fields[2].substring(1)));
+                    deltas.remove(productId);
+                } else if (absolutes.containsKey(productId)) {
+                    absolutes.merge(productId, Integer.parseInt(fields[2]), Integer::sum);
+                } else {
+                    deltas.merge(productId, Integer.parseInt(fields[2]), Integer::sum);
+                }
+                maxSequence = sequence;
+            }
+
+            if (maxSequence > checkpoint) {
+                long replayedUpTo = maxSequence;
+                LocalDateTime now = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(status -> {
+                    absolutes.forEach((productId, quantity) -> productRepository.setStock(productId, quantity, now));
+                    deltas.forEach((productId, delta) -> productRepository.adjustStock(productId, delta, true, now));
+                    checkpointRepository.save(new StockFlushCheckpoint(checkpointId(stripe), replayedUpTo));
+                    Set<Long> changed = new TreeSet<>(absolutes.keySet());
+                    changed.addAll(deltas.keySet());
+                    changeRepository.record(ProductChangeRepository.UPDATE, changed);
+                });
+                System.out.println("✅ Replayed " + (maxSequence - checkpoint) + " journaled stock changes for stripe " + stripe);
+            }
+            sequences.put(stripe, maxSequence);
+        }
+
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        return sequences;
+    }
+
+    private long lastCheckpoint(int stripe) {
+        return checkpointRepository.findById(checkpointId(stripe))
+            .map(StockFlushCheckpoint::getLastSequence)
+            .orElse(0L);
+    }
+
+    private String checkpointId(int stripe) {
+        return nodeId + "-" + stripe;
+    }
+
+    private Stripe stripeFor(Long productId) {
+        if (!enabled) {
+            throw new IllegalStateException("Stock reservation engine is disabled");
+        }
+        return stripes[Math.floorMod(Long.hashCode(productId), stripes.length)];
+    }
+
+    private record Mark(long size, long sequence) {}
+
+    // Everything except the sealed segment list is guarded by lock
+    private final class Stripe {
+
+        private final int index;
+        private final Path dir;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Integer> stock = new HashMap<>();
+        // Changes not yet flushed: summed deltas, and products whose stock was replaced outright
+        private final Map<Long, Integer> pending = new HashMap<>();
+        private final Set<Long> rebased = new HashSet<>();
+        private final NavigableMap<Long, Path> sealed = new ConcurrentSkipListMap<>();
+        private FileChannel channel;
+        private long sequence;
+
+        Stripe(int index, Path dir, long sequence) throws IOException {
+            this.index = index;
+            this.dir = dir;
+            this.sequence = sequence;
+            this.channel = open();
+        }
+
+        // Records an already journaled change in memory
+        void apply(Long productId, int delta, int next) {
+            stock.put(productId, next);
+            if (!rebased.contains(productId)) {
+                pending.merge(productId, delta, Integer::sum);
+            }
+        }
+
+        void append(Long productId, String change) throws IOException {
+            long next = sequence + 1;
+            ByteBuffer record = ByteBuffer.wrap((next + "," + productId + "," + change + "\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            sequence = next;
+        }
+
+        Mark mark() {
+            try {
+                return new Mark(channel.size(), sequence);
+            } catch (IOException e) {
+                throw new RuntimeException("Could not read stock journal for stripe " + index, e);
+            }
+        }
+
+        // Drops records written after the mark, including one torn by the failed write, so a
+        // change that was refused is never replayed and the next record starts on its own line
+        void rollback(Mark mark) {
+            try {
+                channel.truncate(mark.size());
+                sequence = mark.sequence();
+            } catch (IOException e) {
+                System.err.println("Could not roll back stock journal for stripe " + index + ": " + e.getMessage());
+            }
+        }
+
+        // Starts a new segment once the active one is large; sealed segments are
+        // deleted after a flush covering their last entry has committed
+        void sealIfFull() throws IOException {
+            if (channel.size() < SEGMENT_BYTES) {
+                return;
+            }
+            channel.close();
+            Path target = dir.resolve("stripe-" + index + "-" + sequence + ".journal");
+            Files.move(activePath(), target);
+            sealed.put(sequence, target);
+            channel = open();
+        }
+
+        void deleteSealed(long upTo) {
+            Map<Long, Path> covered = sealed.headMap(upTo, true);
+            for (Path path : covered.values()) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    System.err.println("Could not delete stock journal segment " + path + ": " + e.getMessage());
+                }
+            }
+            covered.clear();
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Could not close stock journal for stripe " + index + ": " + e.getMessage());
+            }
+        }
+
+        private Path activePath() {
+            return dir.resolve("stripe-" + index + ".journal");
+        }
+
+        private FileChannel open() throws IOException {
+            return FileChannel.open(activePath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.Suggestion;
+import com.productcatalog.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Typeahead over product names, categories and suppliers, ranked by a popularity
+ * signal: stock on hand for products, product count for categories and suppliers.
+ * Every word start of a normalized phrase is a key in a sorted map, so a prefix is one
+ * range scan. Prefixes whose range is large get a node holding their ranked top
+ * entries, created on first use and then kept current by writes, so short prefixes
+ * never rescan thousands of keys per keystroke.
+ */
+@Component
+public class SuggestionIndex {
+    
+    // Ranges with fewer distinct entries than this are cheap enough to scan per request
+    private static final int MIN_NODE_ENTRIES = 256;
+    private static final int MAX_NODE_DEPTH = 32;
+    
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+        .thenComparingInt(e -> e.suggestion().getText().length())
+        .thenComparing(e -> e.suggestion().getText())
+        .thenComparing(Entry::id);
+    
+    // "<key>\0<entry id>" -> entry, so equal phrases from different entries stay distinct
+    private final NavigableMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+    private final Map<String, PrefixNode> nodes = new ConcurrentHashMap<>();
+    
+    // Guarded by this
+    private final Map<Long, Product> products = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Integer> categoryCounts = new HashMap<>();
+    private final Map<String, Integer> supplierCounts = new HashMap<>();
+    
+    @Value("${catalog.suggest.max-results:10}")
+    private int maxResults = 10;
+    
+    private volatile boolean ready = false;
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public void markReady() {
+        this.ready = true;
+    }
+    
+    public int getMaxResults() {
+        return maxResults;
+    }
+    
+    public int nodeCount() {
+        return nodes.size();
+    }
+    
+    public synchronized void index(Product product) {
+        remove(product.getId());
+        Product snapshot = new Product(product.getProductName(), product.getCategory(), null,
+            null, product.getStockQuantity(), product.getSupplier());
+        products.put(product.getId(), snapshot);
+        put(productEntry(product.getId(), snapshot));
+        count(categoryCounts, Suggestion.CATEGORY, product.getCategory(), 1);
+        count(supplierCounts, Suggestion.SUPPLIER, product.getSupplier(), 1);
+    }
+    
+    public synchronized void remove(Long id) {
+        Product previous = products.remove(id);
+        if (previous == null) {
+            return;
+        }
+        delete("p:" + id);
+        count(categoryCounts, Suggestion.CATEGORY, previous.getCategory(), -1);
+        count(supplierCounts, Suggestion.SUPPLIER, previous.getSupplier(), -1);
+    }
+    
+    // Re-ranks a product after a stock change without touching its category or supplier
+    public synchronized void updateStock(Long id, int stockQuantity) {
+        Product product = products.get(id);
+        if (product == null || product.getStockQuantity() == stockQuantity) {
+            return;
+        }
+        product.setStockQuantity(stockQuantity);
+        delete("p:" + id);
+        put(productEntry(id, product));
+    }
+    
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        int size = Math.min(limit, maxResults);
+        
+        PrefixNode node = nodes.get(prefix);
+        List<Entry> top;
+        if (node != null) {
+            top = Arrays.asList(node.top);
+        } else {
+            Scan scan = scan(prefix, size);
+            top = scan.top();
+            if (scan.distinct() >= MIN_NODE_ENTRIES && prefix.length() <= MAX_NODE_DEPTH) {
+                top = Arrays.asList(createNode(prefix).top);
+            }
+        }
+        
+        List<Suggestion> result = new ArrayList<>(Math.min(size, top.size()));
+        for (int i = 0; i < top.size() && i < size; i++) {
+            result.add(top.get(i).suggestion());
+        }
+        return result;
+    }
+    
+    private synchronized PrefixNode createNode(String prefix) {
+        PrefixNode node = nodes.get(prefix);
+        if (node == null) {
+            Scan scan = scan(prefix, nodeCapacity());
+            node = new PrefixNode(scan.distinct(), scan.top().toArray(new Entry[0]));
+            nodes.put(prefix, node);
+        }
+        return node;
+    }
+    
+    // Best `limit` distinct entries under the prefix, plus how many distinct entries there are
+    private Scan scan(String prefix, int limit) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(RANKING.reversed());
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (!seen.add(entry.id())) {
+                continue;
+            }
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Entry> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return new Scan(ranked, seen.size());
+    }
+    
+    // Nodes keep a few times the page size so removals rarely force a rescan
+    private int nodeCapacity() {
+        return maxResults * 4;
+    }
+    
+    private void count(Map<String, Integer> counts, String type, String text, int delta) {
+        if (text == null || normalize(text).isEmpty()) {
+            return;
+        }
+        String id = type.charAt(0) + ":" + text;
+        int count = counts.merge(text, delta, Integer::sum);
+        delete(id);
+        if (count <= 0) {
+            counts.remove(text);
+        } else {
+            put(new Entry(id, count, new Suggestion(text, type, null), wordStarts(text)));
+        }
+    }
+    
+    private Entry productEntry(Long id, Product product) {
+        int stock = product.getStockQuantity() == null ? 0 : Math.max(0, product.getStockQuantity());
+        return new Entry("p:" + id, stock, new Suggestion(product.getProductName(), Suggestion.PRODUCT, id),
+            wordStarts(product.getProductName()));
+    }
+    
+    private void put(Entry entry) {
+        entries.put(entry.id(), entry);
+        for (String key : entry.keys()) {
+            keys.put(key + '\0' + entry.id(), entry);
+        }
+        for (String prefix : nodePrefixes(entry)) {
+            PrefixNode node = nodes.get(prefix);
+            if (node != null) {
+                node.insert(entry, nodeCapacity());
+            }
+        }
+    }
+    
+    private void delete(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : entry.keys()) {
+            keys.remove(key + '\0' + id);
+        }
+        for (String prefix : nodePrefixes(entry)) {
+            PrefixNode node = nodes.get(prefix);
+            if (node == null || !node.remove(entry)) {
+                continue;
+            }
+            if (node.size < MIN_NODE_ENTRIES / 2) {
+                nodes.remove(prefix);
+            } else if (node.top.length < maxResults && node.top.length < node.size) {
+                // Too few ranked entries left to answer a full page: rebuild from the range
+                node.top = scan(prefix, nodeCapacity()).top().toArray(new Entry[0]);
+            }
+        }
+    }
+    
+    // Every prefix (up to the node depth) under which the entry appears, once each
+    private static Set<String> nodePrefixes(Entry entry) {
+        Set<String> prefixes = new HashSet<>();
+        for (String key : entry.keys()) {
+            for (int length = 1; length <= key.length() && length <= MAX_NODE_DEPTH; length++) {
+                prefixes.add(key.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+    
+    // "Wireless Mouse" -> ["wireless mouse", "mouse"]: matches from the start of any word
+    static List<String> wordStarts(String text) {
+        String normalized = normalize(text);
+        List<String> starts = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return starts;
+        }
+        starts.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            starts.add(normalized.substring(i + 1));
+        }
+        return starts;
+    }
+    
+    // Lower case, accents stripped, runs of anything but letters and digits collapsed to one space
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return decomposed.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+    
+    private record Entry(String id, long score, Suggestion suggestion, List<String> keys) {}
+    
+    private record Scan(List<Entry> top, int distinct) {}
+    
+    // Ranked top entries of one prefix; written under the index lock, read without it
+    private static final class PrefixNode {
+        
+        int size;
+        volatile Entry[] top;
+        
+        PrefixNode(int size, Entry[] top) {
+            this.size = size;
+            this.top = top;
+        }
+        
+        void insert(Entry entry, int capacity) {
+            Entry[] current = top;
+            boolean complete = current.length == size;
+            size++;
+            int position = 0;
+            while (position < current.length && RANKING.compare(current[position], entry) < 0) {
+                position++;
+            }
+            // Past the last ranked entry it only belongs if the list held every entry
+            if (position == current.length && !complete) {
+                return;
+            }
+            int length = Math.min(current.length + 1, capacity);
+            if (position >= length) {
+                return;
+            }
+            Entry[] updated = new Entry[length];
+            System.arraycopy(current, 0, updated, 0, position);
+            updated[position] = entry;
+            System.arraycopy(current, position, updated, position + 1, length - position - 1);
+            top = updated;
+        }
+        
+        // Returns true if the entry was ranked and the list shrank
+        boolean remove(Entry entry) {
+            size--;
+            Entry[] current = top;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].id().equals(entry.id())) {
+                    Entry[] updated = new Entry[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    top = updated;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+-- Schema as previously created by Hibernate (ddl-auto=update). Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+CREATE TABLE admins (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    -- Also serves the login lookup by username
+    CONSTRAINT uk_admins_username UNIQUE (username)
+);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    product_name VARCHAR(255) NOT NULL,
+    category VARCHAR(100) NOT NULL,
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    stock_quantity INT NOT NULL,
+    supplier VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,18 @@
+-- Indexes for the query shapes in ProductRepository. Listing sorts always end in id,
+-- so id is the last column of each composite index (explicit for databases other than
+-- InnoDB, which appends the primary key to secondary indexes anyway).
+
+-- Category filter with the default id order: offset and keyset pages, category counts
+CREATE INDEX idx_products_category_id ON products (category, id);
+
+-- Category filter sorted or keyset-paged by price, and price ranges within a category
+CREATE INDEX idx_products_category_price ON products (category, price, id);
+
+-- Category filter sorted or keyset-paged by creation time
+CREATE INDEX idx_products_category_created ON products (category, created_at, id);
+
+-- Unfiltered price sort, keyset by price and price-range scans
+CREATE INDEX idx_products_price ON products (price, id);
+
+-- updated_at watermarks: keyset by updatedAt and "changed since" scans
+CREATE INDEX idx_products_updated_at ON products (updated_at, id);
@@ -0,0 +1,19 @@
+-- Append-only log of product creates, updates and deletes for GET /products/changes.
+-- Sequence numbers are plain AUTO_INCREMENT values: writers never wait on each other. They
+-- may have gaps (rolled-back writes) and commit out of order, which the feed allows for by
+-- only serving entries below the oldest still-open write (see ProductChangeRepository).
+
+CREATE TABLE product_changes (
+    seq BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL,
+    -- Database clock, so the feed's settle time does not depend on application node clocks
+    changed_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (seq)
+);
+
+-- Existing products enter the log as creates, so a new mirror can start from since=0
+INSERT INTO product_changes (product_id, change_type, changed_at)
+SELECT id, 'CREATE', COALESCE(updated_at, created_at, CURRENT_TIMESTAMP(6))
+FROM products
+ORDER BY id;
@@ -0,0 +1,8 @@
+-- Journal position of the last stock write-behind flush (catalog.reservations.enabled).
+-- Databases that ran the engine under ddl-auto=update already have this table.
+
+CREATE TABLE IF NOT EXISTS stock_flush_checkpoints (
+    id VARCHAR(100) NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
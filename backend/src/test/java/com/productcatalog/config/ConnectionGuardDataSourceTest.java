@@ -0,0 +1,73 @@
+package com.productcatalog.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionGuardDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(pool.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void testPermitReleasedOnceWhenConnectionClosed() throws SQLException {
+        // Given
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 10, 10);
+
+        // When
+        Connection first = guard.getConnection();
+        assertEquals(1, guard.getActive());
+        first.close();
+        first.close();
+
+        // Then
+        assertEquals(0, guard.getActive());
+        verify(connection, times(2)).close();
+        guard.getConnection();
+        assertEquals(1, guard.getActive());
+    }
+
+    @Test
+    void testRejectsWhenNoPermitBecomesAvailable() throws SQLException {
+        // Given
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 10, 10);
+        guard.getConnection();
+
+        // When & Then
+        assertThrows(SQLTransientConnectionException.class, guard::getConnection);
+        verify(pool, times(1)).getConnection();
+
+        ConnectionGuardDataSource noQueue = new ConnectionGuardDataSource(pool, 1, 10_000, 0);
+        noQueue.getConnection();
+        assertThrows(SQLTransientConnectionException.class, noQueue::getConnection);
+    }
+
+    @Test
+    void testPermitReturnedWhenPoolFails() throws SQLException {
+        // Given
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionGuardDataSource guard = new ConnectionGuardDataSource(pool, 1, 10, 10);
+
+        // When & Then
+        assertThrows(SQLException.class, guard::getConnection);
+        assertEquals(0, guard.getActive());
+    }
+}
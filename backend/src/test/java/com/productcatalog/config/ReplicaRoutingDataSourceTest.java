@@ -0,0 +1,141 @@
+package com.productcatalog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replicaPool;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    @Mock
+    private ResultSet lagRow;
+
+    private ReplicaRoutingDataSource router;
+
+    private String client;
+
+    private boolean shared;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+        Statement statement = mock(Statement.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lagRow);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(lagRow.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(2)).thenReturn("Seconds_Behind_Source");
+
+        ReplicaRoutingDataSource.Replica replica =
+            new ReplicaRoutingDataSource.Replica("replica-0", mock(HikariDataSource.class), replicaPool);
+        router = new ReplicaRoutingDataSource(primary, List.of(replica), () -> client, () -> shared, 5, 1000, "SHOW REPLICA STATUS");
+    }
+
+    @Test
+    void testReadsGoToReplicaWithinLag() throws SQLException {
+        // Given
+        when(lagRow.next()).thenReturn(true);
+        when(lagRow.getObject(2)).thenReturn(2L);
+
+        // When: unmeasured replicas are not trusted, measured ones are
+        assertSame(primaryConnection, router.getConnection());
+        router.checkLag();
+
+        // Then
+        assertSame(replicaConnection, router.getConnection());
+        assertEquals(2, router.getReplicas().get(0).getLagSeconds());
+        assertEquals(1, router.getPrimaryReads());
+    }
+
+    @Test
+    void testFallsBackToPrimaryWhenLaggingOrStopped() throws SQLException {
+        // Given
+        when(lagRow.next()).thenReturn(true);
+        when(lagRow.getObject(2)).thenReturn(30L, (Object) null);
+
+        // When & Then
+        router.checkLag();
+        assertSame(primaryConnection, router.getConnection());
+        router.checkLag();
+        assertEquals(-1, router.getReplicas().get(0).getLagSeconds());
+        assertSame(primaryConnection, router.getConnection());
+    }
+
+    @Test
+    void testClientReadsItsOwnWritesFromPrimary() throws SQLException {
+        // Given: a healthy replica
+        when(lagRow.next()).thenReturn(false);
+        router.checkLag();
+
+        // When
+        client = "admin";
+        assertSame(primaryConnection, router.writeDataSource().getConnection());
+
+        // Then: the writer reads from the primary, everyone else keeps using the replica
+        assertSame(primaryConnection, router.getConnection());
+        client = "other";
+        assertSame(replicaConnection, router.getConnection());
+        client = null;
+        assertSame(replicaConnection, router.getConnection());
+        assertEquals(1, router.getPrimaryReads());
+    }
+
+    @Test
+    void testSharedReadsWaitForReplicaToCoverAnyWrite() throws SQLException {
+        // Given: a healthy replica and a write by someone else still open
+        when(lagRow.next()).thenReturn(false);
+        router.checkLag();
+        client = "admin";
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            router.writeDataSource().getConnection();
+            client = null;
+            shared = true;
+
+            // When & Then: cache-filling reads use the primary, private reads keep the replica
+            assertSame(primaryConnection, router.getConnection());
+            shared = false;
+            assertSame(replicaConnection, router.getConnection());
+
+            // Still on the primary after commit, until the replica's lag covers the write
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+            shared = true;
+            assertSame(primaryConnection, router.getConnection());
+            assertEquals(2, router.getPrimaryReads());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.productcatalog.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilsTest {
+    
+    private JwtUtils jwtUtils;
+    
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "myVeryLongSecretKeyThatIsAtLeast256BitsLongForSecureJwtEncoding");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000);
+        jwtUtils.init();
+    }
+    
+    @Test
+    void testValidTokenIsVerifiedOnceThenCached() {
+        String token = jwtUtils.generateJwtToken("admin");
+        
+        assertEquals("admin", jwtUtils.getUserNameFromValidToken(token));
+        assertEquals("admin", jwtUtils.getUserNameFromValidToken(token));
+        
+        assertEquals(1, jwtUtils.getVerifiedTokenCache().stats().hitCount());
+        assertEquals(1, jwtUtils.getVerifiedTokenCache().estimatedSize());
+    }
+    
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtUtils.generateJwtToken("admin");
+        jwtUtils.getUserNameFromValidToken(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        
+        assertNull(jwtUtils.getUserNameFromValidToken(tampered));
+        assertFalse(jwtUtils.validateJwtToken("not.a.jwt"));
+        assertNull(jwtUtils.getUserNameFromValidToken(null));
+    }
+    
+    @Test
+    void testExpiredTokenIsRejected() {
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", -1000);
+        String token = jwtUtils.generateJwtToken("admin");
+        
+        assertNull(jwtUtils.getUserNameFromValidToken(token));
+        assertEquals(0, jwtUtils.getVerifiedTokenCache().estimatedSize());
+    }
+}
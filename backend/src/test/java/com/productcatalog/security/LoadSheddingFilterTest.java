@@ -0,0 +1,96 @@
+package com.productcatalog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class LoadSheddingFilterTest {
+
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        concurrencyLimit = new AdaptiveConcurrencyLimit();
+        ReflectionTestUtils.setField(concurrencyLimit, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(concurrencyLimit, "initialLimit", 10);
+        ReflectionTestUtils.setField(concurrencyLimit, "minLimit", 5);
+        concurrencyLimit.init();
+        filter = new LoadSheddingFilter();
+        ReflectionTestUtils.setField(filter, "concurrencyLimit", concurrencyLimit);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void testReadsShedBeforeReservedShareWhileWritesStillAdmitted() throws Exception {
+        // Given: 8 reads in flight, the ordinary lane's 80% of 10
+        for (int i = 0; i < 8; i++) {
+            assertTrue(concurrencyLimit.tryAcquire(false));
+        }
+        FilterChain chain = mock(FilterChain.class);
+
+        // When
+        MockHttpServletResponse read = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/products"), read, chain);
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/products"), write, chain);
+        MockHttpServletResponse login = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/auth/login"), login, chain);
+
+        // Then
+        assertEquals(503, read.getStatus());
+        assertEquals("1", read.getHeader("Retry-After"));
+        assertEquals(200, write.getStatus());
+        assertEquals(200, login.getStatus());
+        verify(chain, times(2)).doFilter(any(), any());
+        // Admitted requests gave their permits back
+        assertEquals(8, concurrencyLimit.getInFlight());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRisesAndRecovers() {
+        // Given: a busy limit at a 2ms baseline
+        for (int i = 0; i < 9; i++) {
+            concurrencyLimit.tryAcquire(true);
+        }
+        for (int i = 0; i < 500; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        double healthy = concurrencyLimit.getLimit();
+
+        // When: the database slows down tenfold and requests pile up to the limit
+        while (concurrencyLimit.tryAcquire(true)) {
+        }
+        for (int i = 0; i < 50; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+
+        // Then
+        assertTrue(concurrencyLimit.getLimit() < healthy / 2, concurrencyLimit.getLimit() + " vs " + healthy);
+        assertTrue(concurrencyLimit.getLimit() >= 5);
+
+        // And: it grows back once latency returns to the baseline
+        double shrunk = concurrencyLimit.getLimit();
+        for (int i = 0; i < 100; i++) {
+            concurrencyLimit.onSample(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        assertTrue(concurrencyLimit.getLimit() > shrunk * 2, concurrencyLimit.getLimit() + " vs " + shrunk);
+    }
+
+    private MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setContextPath("/api");
+        return request;
+    }
+}
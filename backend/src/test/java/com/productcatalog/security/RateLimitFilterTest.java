@@ -0,0 +1,93 @@
+package com.productcatalog.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RateLimitFilterTest {
+    
+    private RateLimitFilter filter;
+    
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "loginCapacity", 2);
+        filter.init();
+    }
+    
+    @Test
+    void testTokenBucketAllowsBurstThenRefills() {
+        long start = 1_000;
+        TokenBucket bucket = new TokenBucket(3, 10, start);
+        
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire(start));
+        
+        // One token back after 100ms at 10 tokens per second
+        long later = start + TimeUnit.MILLISECONDS.toNanos(100);
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+    
+    @Test
+    void testLoginBurstFromOneAddressGets429() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse allowed = new MockHttpServletResponse();
+            filter.doFilter(login("10.0.0.1"), allowed, chain);
+            assertEquals(200, allowed.getStatus());
+        }
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.1"), rejected, chain);
+        MockHttpServletResponse otherClient = new MockHttpServletResponse();
+        filter.doFilter(login("10.0.0.2"), otherClient, chain);
+        
+        assertEquals(429, rejected.getStatus());
+        assertEquals("5", rejected.getHeader("Retry-After"));
+        assertEquals(200, otherClient.getStatus());
+        verify(chain, times(3)).doFilter(any(), any());
+    }
+    
+    @Test
+    void testLoginThrottleLimitsAttemptsPerUsername() {
+        LoginThrottle throttle = new LoginThrottle();
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        ReflectionTestUtils.setField(throttle, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(throttle, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(throttle, "usernameCapacity", 2);
+        throttle.init();
+        String hash = encoder.encode("secret");
+        
+        assertTrue(throttle.matches("admin", "secret", hash));
+        assertFalse(throttle.matches("admin", "wrong", hash));
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+            () -> throttle.matches("admin", "secret", hash));
+        assertEquals(10, e.getRetryAfterSeconds());
+        assertTrue(throttle.matches("someone-else", "secret", hash));
+        throttle.shutdown();
+    }
+    
+    private static MockHttpServletRequest login(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
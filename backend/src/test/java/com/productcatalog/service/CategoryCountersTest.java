@@ -0,0 +1,76 @@
+package com.productcatalog.service;
+
+import com.productcatalog.repository.CategoryCount;
+import com.productcatalog.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CategoryCountersTest {
+    
+    @Mock
+    private ProductRepository productRepository;
+    
+    @InjectMocks
+    private CategoryCounters categoryCounters;
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+    
+    @Test
+    void testCategoriesIgnoreCaseAndAccents() {
+        // Given
+        categoryCounters.reset(List.of(categoryCount("Electronics", 3), categoryCount("ELECTRONICS", 1)));
+        
+        // When
+        categoryCounters.increment("electronics");
+        categoryCounters.move("Electronics", "Décor");
+        
+        // Then
+        assertEquals(4, categoryCounters.count("electronics"));
+        assertEquals(1, categoryCounters.count("DECOR"));
+        assertEquals(5, categoryCounters.total());
+    }
+    
+    @Test
+    void testReloadKeepsChangesMadeDuringQuery() {
+        // Given
+        categoryCounters.reset(List.of(categoryCount("Books", 2)));
+        when(productRepository.countGroupByCategory()).thenAnswer(invocation -> {
+            // Committed after the grouped count was read, so the result does not include it
+            categoryCounters.increment("Books");
+            return List.of(categoryCount("Books", 10));
+        });
+        
+        // When
+        categoryCounters.reconcile();
+        categoryCounters.increment("Books");
+        
+        // Then
+        assertEquals(12, categoryCounters.count("Books"));
+        assertEquals(12, categoryCounters.total());
+    }
+    
+    private CategoryCount categoryCount(String category, long total) {
+        return new CategoryCount() {
+            @Override
+            public String getCategory() {
+                return category;
+            }
+            
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
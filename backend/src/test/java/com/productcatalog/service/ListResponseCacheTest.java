@@ -0,0 +1,94 @@
+package com.productcatalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.SliceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListResponseCacheTest {
+
+    private ListResponseCache listResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        listResponseCache = new ListResponseCache(new ObjectMapper(), new MappingJackson2SmileHttpMessageConverter(),
+            new MappingJackson2CborHttpMessageConverter(), true, 1 << 20, 60, 16);
+    }
+
+    @Test
+    void testServedFromCacheUntilVersionChanges() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        byte[] first = listResponseCache.get(1, MediaType.APPLICATION_JSON, "q", () -> Map.of("n", loads.incrementAndGet())).bytes();
+        byte[] second = listResponseCache.get(1, MediaType.APPLICATION_JSON, "q", () -> Map.of("n", loads.incrementAndGet())).bytes();
+        byte[] afterWrite = listResponseCache.get(2, MediaType.APPLICATION_JSON, "q", () -> Map.of("n", loads.incrementAndGet())).bytes();
+
+        // Then
+        assertSame(first, second);
+        assertEquals("{\"n\":1}", new String(first, StandardCharsets.UTF_8));
+        assertEquals("{\"n\":2}", new String(afterWrite, StandardCharsets.UTF_8));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testSliceWithoutEstimateIsNotStored() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        Long[] estimate = {null};
+
+        // When
+        ListResponseCache.Entry pending = listResponseCache.get(1, MediaType.APPLICATION_JSON, "slice",
+            () -> new SliceResponse<>(List.of(loads.incrementAndGet()), 0, 10, false, estimate[0]));
+        estimate[0] = 42L;
+        ListResponseCache.Entry counted = listResponseCache.get(1, MediaType.APPLICATION_JSON, "slice",
+            () -> new SliceResponse<>(List.of(loads.incrementAndGet()), 0, 10, false, estimate[0]));
+        ListResponseCache.Entry cached = listResponseCache.get(1, MediaType.APPLICATION_JSON, "slice",
+            () -> new SliceResponse<>(List.of(loads.incrementAndGet()), 0, 10, false, estimate[0]));
+
+        // Then
+        assertTrue(pending.isProvisional());
+        assertFalse(counted.isProvisional());
+        assertSame(counted, cached);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testNegotiatesLikeAcceptHeader() {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        assertEquals(MediaType.APPLICATION_JSON, listResponseCache.negotiate(List.of()));
+        assertEquals(MediaType.APPLICATION_JSON, listResponseCache.negotiate(MediaType.parseMediaTypes("*/*")));
+        assertEquals(smile, listResponseCache.negotiate(MediaType.parseMediaTypes("application/json;q=0.5, application/x-jackson-smile")));
+        assertEquals(MediaType.APPLICATION_CBOR, listResponseCache.negotiate(MediaType.parseMediaTypes("application/cbor")));
+        assertNull(listResponseCache.negotiate(MediaType.parseMediaTypes("application/xml")));
+    }
+
+    @Test
+    void testGzipsLargeBodiesOnce() throws Exception {
+        // Given
+        ListResponseCache.Entry small = listResponseCache.get(1, MediaType.APPLICATION_JSON, "small", () -> List.of());
+        ListResponseCache.Entry large = listResponseCache.get(1, MediaType.APPLICATION_JSON, "large", () -> List.of("x".repeat(100)));
+
+        // When & Then
+        assertFalse(listResponseCache.shouldGzip(small));
+        assertTrue(listResponseCache.shouldGzip(large));
+        assertSame(large.gzipped(), large.gzipped());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzipped()))) {
+            assertArrayEquals(large.bytes(), in.readAllBytes());
+        }
+    }
+}
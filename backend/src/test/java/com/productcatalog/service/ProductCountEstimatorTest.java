@@ -0,0 +1,87 @@
+package com.productcatalog.service;
+
+import com.productcatalog.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ProductCountEstimatorTest {
+    
+    @Mock
+    private ProductRepository productRepository;
+    
+    @InjectMocks
+    private ProductCountEstimator countEstimator;
+    
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Executor executor = pendingTasks::add;
+        ReflectionTestUtils.setField(countEstimator, "executor", executor);
+    }
+    
+    @Test
+    void testFirstCallSchedulesRefreshWithoutBlocking() {
+        // Given
+        when(productRepository.countWithFilters("Electronics", "Phone")).thenReturn(7L);
+        
+        // When
+        Long first = countEstimator.estimate("Electronics", "Phone");
+        Long again = countEstimator.estimate("Electronics", "phone");
+        
+        // Then
+        assertNull(first);
+        assertNull(again);
+        assertEquals(1, pendingTasks.size());
+        verifyNoInteractions(productRepository);
+        
+        pendingTasks.remove(0).run();
+        assertEquals(7L, countEstimator.estimate("Electronics", "phone"));
+        assertTrue(pendingTasks.isEmpty());
+    }
+    
+    @Test
+    void testSearchCountedAsTheListingMatchesIt() {
+        // Given
+        when(productRepository.countWithFilters(null, " tv")).thenReturn(2L);
+        when(productRepository.countWithFilters(null, "tv")).thenReturn(9L);
+        
+        // When
+        countEstimator.estimate(null, " tv");
+        countEstimator.estimate(null, "tv");
+        pendingTasks.forEach(Runnable::run);
+        
+        // Then: surrounding blanks are part of the search, not trimmed away
+        assertEquals(2L, countEstimator.estimate(null, " tv"));
+        assertEquals(9L, countEstimator.estimate(null, "tv"));
+    }
+    
+    @Test
+    void testStaleEstimateIsServedWhileRefreshing() {
+        // Given
+        ReflectionTestUtils.setField(countEstimator, "ttlMs", -1L);
+        when(productRepository.countWithFilters(null, "")).thenReturn(3L, 4L);
+        countEstimator.estimate(null, "");
+        pendingTasks.remove(0).run();
+        
+        // When
+        Long stale = countEstimator.estimate(null, "");
+        
+        // Then
+        assertEquals(3L, stale);
+        pendingTasks.remove(0).run();
+        assertEquals(4L, countEstimator.estimate(null, ""));
+    }
+}
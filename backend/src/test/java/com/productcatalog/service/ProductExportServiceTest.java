@@ -0,0 +1,119 @@
+package com.productcatalog.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ProductExportServiceTest {
+    
+    @Mock
+    private ProductRepository productRepository;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    
+    @InjectMocks
+    private ProductExportService productExportService;
+    
+    private Product first;
+    private Product second;
+    
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        
+        first = new Product("Mouse", "Electronics", "Wireless, 2.4GHz", new BigDecimal("19.99"), 5, "Logi");
+        first.setId(1L);
+        first.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        second = new Product("Desk", "Furniture", null, new BigDecimal("120.00"), 2, null);
+        second.setId(2L);
+    }
+    
+    @Test
+    void testExportNdjson() throws Exception {
+        // Given
+        when(productRepository.streamWithFilters(null, "")).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        productExportService.export("ndjson", null, "", out);
+        
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Mouse", objectMapper.readTree(lines[0]).get("productName").asText());
+        assertEquals("2024-01-01T12:00:00", objectMapper.readTree(lines[0]).get("createdAt").asText());
+        assertEquals(2, objectMapper.readTree(lines[1]).get("id").asLong());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+    
+    @Test
+    void testExportCsv() throws Exception {
+        // Given
+        when(productRepository.streamWithFilters("Electronics", "mouse")).thenReturn(Stream.of(first));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        productExportService.export("csv", "Electronics", "mouse", out);
+        
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,productName,category,description,price,stockQuantity,supplier,createdAt,updatedAt", lines[0]);
+        assertEquals("1,Mouse,Electronics,\"Wireless, 2.4GHz\",19.99,5,Logi,2024-01-01T12:00:00,", lines[1]);
+    }
+    
+    @Test
+    void testExportSmileReadsBackAsSequence() throws Exception {
+        // Given
+        when(productRepository.streamWithFilters(null, "")).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        productExportService.export("smile", null, "", out);
+        
+        // Then
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        List<JsonNode> rows = smile.readerFor(JsonNode.class).<JsonNode>readValues(out.toByteArray()).readAll();
+        assertEquals(2, rows.size());
+        assertEquals("Mouse", rows.get(0).get("productName").asText());
+        assertEquals(0, new BigDecimal("19.99").compareTo(rows.get(0).get("price").decimalValue()));
+        assertEquals("2024-01-01T12:00:00", rows.get(0).get("createdAt").asText());
+        assertEquals(2, rows.get(1).get("id").asLong());
+    }
+    
+    @Test
+    void testFormatFromAcceptHeader() {
+        assertEquals("smile", productExportService.formatFor(MediaType.parseMediaTypes("application/x-jackson-smile")));
+        assertEquals("cbor", productExportService.formatFor(MediaType.parseMediaTypes("application/cbor, */*")));
+        assertEquals("ndjson", productExportService.formatFor(MediaType.parseMediaTypes("*/*")));
+        assertEquals("ndjson", productExportService.formatFor(List.of()));
+    }
+}
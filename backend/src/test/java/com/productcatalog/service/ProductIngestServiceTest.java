@@ -0,0 +1,147 @@
+package com.productcatalog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.BatchItemResult;
+import com.productcatalog.dto.BatchResponse;
+import com.productcatalog.dto.ProductRequest;
+import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ProductBatchRepository;
+import com.productcatalog.repository.ProductChangeRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ProductIngestServiceTest {
+    
+    @Mock
+    private ProductBatchRepository batchRepository;
+    
+    @Mock
+    private ProductChangeRepository changeRepository;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    
+    @Spy
+    private ProductSearchIndex searchIndex = new ProductSearchIndex();
+    
+    @Spy
+    private SuggestionIndex suggestionIndex = new SuggestionIndex();
+    
+    @Spy
+    private CategoryCounters categoryCounters = new CategoryCounters();
+    
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+    
+    @InjectMocks
+    private ProductIngestService productIngestService;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong nextId = new AtomicLong(1);
+    
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(productIngestService, "batchSize", 2);
+        
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.forEach(product -> product.setId(nextId.getAndIncrement()));
+            return null;
+        }).when(batchRepository).insertAll(anyList());
+    }
+    
+    @Test
+    void testJsonArrayInsertedInBatches() throws Exception {
+        // Given
+        String body = "[" + item("Mouse") + "," + item("Keyboard") + "," + item("Monitor") + "]";
+        
+        // When
+        BatchResponse response = productIngestService.ingest(read(body));
+        
+        // Then
+        assertEquals(3, response.getTotal());
+        assertEquals(3, response.getCreated());
+        assertEquals(List.of(1L, 2L, 3L), response.getResults().stream().map(BatchItemResult::getId).toList());
+        verify(batchRepository, times(2)).insertAll(anyList());
+        verify(changeRepository).record(ProductChangeRepository.CREATE, List.of(1L, 2L));
+        verify(changeRepository).record(ProductChangeRepository.CREATE, List.of(3L));
+        assertEquals(List.of(2L), searchIndex.search("keyboard", null, 100));
+    }
+    
+    @Test
+    void testNdjsonReportsInvalidItemsByIndex() throws Exception {
+        // Given
+        String body = item("Mouse") + "\n" + "{\"productName\":\"X\",\"category\":\"Electronics\"}" + "\n" + item("Keyboard");
+        
+        // When
+        BatchResponse response = productIngestService.ingest(read(body));
+        
+        // Then
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        BatchItemResult invalid = response.getResults().get(1);
+        assertEquals(1, invalid.getIndex());
+        assertEquals(BatchItemResult.INVALID, invalid.getStatus());
+        assertTrue(invalid.getErrors().stream().anyMatch(error -> error.getField().equals("price")));
+    }
+    
+    @Test
+    void testFailedBatchMarksItsItems() throws Exception {
+        // Given
+        doThrow(new RuntimeException("Duplicate entry")).when(batchRepository).insertAll(anyList());
+        
+        // When
+        BatchResponse response = productIngestService.ingest(read(item("Mouse")));
+        
+        // Then
+        assertEquals(0, response.getCreated());
+        assertEquals(BatchItemResult.FAILED, response.getResults().get(0).getStatus());
+        assertEquals("Duplicate entry", response.getResults().get(0).getMessage());
+    }
+    
+    @Test
+    void testMalformedInputKeepsEarlierItems() throws Exception {
+        // When
+        BatchResponse response = productIngestService.ingest(read(item("Mouse") + "\n{\"productName\": "));
+        
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(BatchItemResult.INVALID, response.getResults().get(1).getStatus());
+    }
+    
+    private Iterator<ProductRequest> read(String body) throws Exception {
+        return objectMapper.readerFor(ProductRequest.class).readValues(body);
+    }
+    
+    private String item(String name) {
+        return "{\"productName\":\"" + name + "\",\"category\":\"Electronics\",\"price\":10.50,\"stockQuantity\":3}";
+    }
+}
@@ -0,0 +1,173 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.CursorPageResponse;
+import com.productcatalog.dto.ProductRequest;
+import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.entity.Product;
+import com.productcatalog.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs each query through every listing, summary, facet, count and export path, once answered by
+// the search index and once by the database LIKE queries, and expects the same products every time.
+// H2 with IGNORECASE stands in for the case-insensitive MySQL collation.
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:consistency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.springframework.security=WARN",
+    "spring.main.web-application-type=none"
+})
+public class ProductSearchConsistencyTest {
+
+    private static final int INDEX_CAP = 10000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductIngestService ingestService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Long> ids = new TreeMap<>();
+
+    @Test
+    void testEveryPathReturnsTheSameProducts() {
+        // Given
+        load();
+
+        // When & Then
+        assertSamePaths("mouse", "electronics", "Wireless Mouse", "Mousepad XL", "Trackball", "Dormouse Plush");
+        assertSamePaths("mouse", null, "Wireless Mouse", "Mousepad XL", "Trackball", "Mouse Trap", "Dormouse Plush");
+        assertSamePaths("less mouse", null, "Wireless Mouse");
+        assertSamePaths("r with lum", "FURNITURE", "Office Chair");
+        assertSamePaths("2.4GHZ", null, "Wireless Mouse");
+        assertSamePaths("mech", null, "Keyboard");
+        assertSamePaths("xl", null, "Mousepad XL");
+        assertSamePaths("mouse wireless", null);
+        assertSamePaths(" ", "home", "Mouse Trap");
+        assertSamePaths("  ", null);
+    }
+
+    @Test
+    void testCursorPagesThroughNullTimestamps() {
+        // Given: rows inserted outside JPA have no timestamps
+        ingestService.ingest(Stream.of("A", "B", "C", "D", "E")
+            .map(name -> request("Lamp " + name, "Lighting", null, null)).iterator());
+        List<Long> lamps = productRepository.findAll().stream()
+            .filter(product -> "Lighting".equals(product.getCategory())).map(Product::getId).sorted().toList();
+        jdbcTemplate.update("UPDATE products SET created_at = NULL, updated_at = NULL WHERE id IN (?, ?, ?)",
+            lamps.get(0), lamps.get(2), lamps.get(3));
+
+        for (String sortBy : List.of("createdAt", "updatedAt")) {
+            // When
+            List<Long> ascending = cursorPages(after -> productService.getProductsAfter(
+                "", "Lighting", after, 2, sortBy, "asc")).stream().map(ProductResponse::getId).toList();
+            List<Long> descending = cursorPages(after -> productService.getProductSummariesAfter(
+                "", "Lighting", after, 2, sortBy, "desc")).stream().map(ProductSummary::getId).toList();
+
+            // Then: every row exactly once, NULLs first ascending and last descending
+            assertEquals(List.of(lamps.get(0), lamps.get(2), lamps.get(3)), ascending.subList(0, 3), sortBy);
+            assertEquals(lamps, sorted(ascending, Function.identity()), sortBy);
+            assertEquals(List.of(lamps.get(3), lamps.get(2), lamps.get(0)), descending.subList(2, 5), sortBy);
+            assertEquals(lamps, sorted(descending, Function.identity()), sortBy);
+        }
+    }
+
+    private void load() {
+        List<ProductRequest> requests = List.of(
+            request("Wireless Mouse", "Electronics", "Ergonomic 2.4GHz mouse", "Logi"),
+            request("Mousepad XL", "Electronics", "Desk mat", null),
+            request("Trackball", "Electronics", "Replaces your mouse.", null),
+            request("Mouse Trap", "Home", null, null),
+            request("Keyboard", "Electronics", "Mechanical switches", "Mouse Inc"),
+            request("Dormouse Plush", "ELECTRONICS", "Soft toy", null),
+            request("Office Chair", "Furniture", "Mesh chair with lumbar support", null));
+        ingestService.ingest(requests.iterator());
+        for (Product product : productRepository.findAll()) {
+            ids.put(product.getProductName(), product.getId());
+        }
+    }
+
+    private void assertSamePaths(String search, String category, String... expectedNames) {
+        List<Long> expected = Stream.of(expectedNames).map(ids::get).sorted().toList();
+        ProductService target = AopTestUtils.getUltimateTargetObject(productService);
+        try {
+            for (int cap : new int[]{INDEX_CAP, -1}) {
+                ReflectionTestUtils.setField(target, "maxIndexCandidates", cap);
+                String path = (cap < 0 ? "database" : "index") + " '" + search + "' in " + category + ": ";
+
+                assertEquals(expected, sorted(productService.getAllProducts(search, category, 0, 100, "id", "desc")
+                    .getContent(), ProductResponse::getId), path + "page by id");
+                assertEquals(expected, sorted(productService.getAllProducts(search, category, 0, 100, "price", "asc")
+                    .getContent(), ProductResponse::getId), path + "page by price");
+                assertEquals(expected, sorted(productService.getProductSlice(search, category, 0, 100, "id", "asc")
+                    .getContent(), ProductResponse::getId), path + "slice");
+                assertEquals(expected, sorted(productService.getProductSummaries(search, category, 0, 100, "productName", "asc")
+                    .getContent(), ProductSummary::getId), path + "summaries");
+                assertEquals(expected, sorted(productService.getProductSummarySlice(search, category, 0, 100, "id", "asc")
+                    .getContent(), ProductSummary::getId), path + "summary slice");
+                assertEquals(expected, sorted(cursorPages(after -> productService.getProductsAfter(
+                    search, category, after, 2, "price", "desc")), ProductResponse::getId), path + "cursor");
+                assertEquals(expected, sorted(cursorPages(after -> productService.getProductSummariesAfter(
+                    search, category, after, 2, "id", "asc")), ProductSummary::getId), path + "summary cursor");
+                assertEquals(expected.size(), productService.getFacets(search, category).getTotal(), path + "facets");
+            }
+        } finally {
+            ReflectionTestUtils.setField(target, "maxIndexCandidates", INDEX_CAP);
+        }
+
+        assertEquals(expected.size(), productRepository.countWithFilters(category, search), "count estimate");
+        assertEquals(expected, transactionTemplate.execute(status -> {
+            try (Stream<Product> products = productRepository.streamWithFilters(category, search)) {
+                return products.map(Product::getId).toList();
+            }
+        }), "export");
+    }
+
+    private <T> List<T> cursorPages(Function<String, CursorPageResponse<T>> fetch) {
+        List<T> rows = new ArrayList<>();
+        String after = null;
+        do {
+            CursorPageResponse<T> page = fetch.apply(after);
+            rows.addAll(page.getContent());
+            after = page.getNextCursor();
+        } while (after != null);
+        return rows;
+    }
+
+    private <T> List<Long> sorted(List<T> rows, Function<T, Long> id) {
+        return rows.stream().map(id).sorted().toList();
+    }
+
+    private ProductRequest request(String name, String category, String description, String supplier) {
+        return new ProductRequest(name, category, description, new BigDecimal(10 + name.length()), 5, supplier);
+    }
+}
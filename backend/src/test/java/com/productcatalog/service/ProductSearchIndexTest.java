@@ -0,0 +1,103 @@
+package com.productcatalog.service;
+
+import com.productcatalog.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductSearchIndexTest {
+    
+    private static final int LIMIT = 100;
+    
+    private ProductSearchIndex searchIndex;
+    
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex();
+        searchIndex.index(product(1L, "Wireless Mouse", "Electronics", "Ergonomic 2.4GHz mouse", "Logi"));
+        searchIndex.index(product(2L, "Mechanical Keyboard", "Electronics", "RGB backlit keyboard", "Keychron"));
+        searchIndex.index(product(3L, "Office Chair", "Furniture", "Mesh chair with lumbar support", "Logi"));
+    }
+    
+    @Test
+    void testMatchesNameAndDescription() {
+        assertEquals(List.of(2L), searchIndex.search("keyboard", null, LIMIT));
+        assertEquals(List.of(1L), searchIndex.search("ERGONOMIC", null, LIMIT));
+        // Supplier is not searched, same as the database query
+        assertEquals(List.of(), searchIndex.search("logi", null, LIMIT));
+    }
+    
+    @Test
+    void testSingleWordMatchesAnySubstringExactly() {
+        assertEquals(List.of(2L), searchIndex.search("mech", null, LIMIT));
+        assertEquals(List.of(1L), searchIndex.search("ouse", null, LIMIT));
+        assertTrue(ProductSearchIndex.isExact("ouse"));
+        assertTrue(ProductSearchIndex.isExact("Ergonómic"));
+    }
+    
+    @Test
+    void testPhrasesNarrowToCandidatesForTheDatabaseToCheck() {
+        assertEquals(List.of(3L), searchIndex.search("esh ch", null, LIMIT));
+        assertEquals(List.of(1L), searchIndex.search("less mouse", null, LIMIT));
+        assertEquals(List.of(3L), searchIndex.search("r with lum", null, LIMIT));
+        assertEquals(List.of(), searchIndex.search("mes chair", null, LIMIT));
+        // Right words in the wrong order are still a candidate; only the full string decides
+        assertEquals(List.of(1L), searchIndex.search("mouse wireless", null, LIMIT));
+        assertFalse(ProductSearchIndex.isExact("mouse wireless"));
+        assertFalse(ProductSearchIndex.isExact(" mouse"));
+        assertFalse(ProductSearchIndex.isExact("2.4ghz"));
+    }
+    
+    @Test
+    void testShortOrCommonWordsLeftToDatabase() {
+        assertNull(searchIndex.search("r", null, LIMIT));
+        assertNull(searchIndex.search("2.4", null, LIMIT));
+        assertNull(searchIndex.search("--", null, LIMIT));
+        assertNull(searchIndex.search("e", "ELECTRONICS", LIMIT));
+        assertNull(searchIndex.search("keyboard", null, 0));
+        // A short or common word does not narrow a phrase, the others still do
+        assertEquals(List.of(1L), searchIndex.search("2.4ghz", null, LIMIT));
+        assertEquals(List.of(3L), searchIndex.search("with lumbar", null, 1));
+    }
+    
+    @Test
+    void testIgnoresCaseAndAccents() {
+        searchIndex.index(product(4L, "Café Crème", "Kitchen", null, null));
+        assertEquals(List.of(4L), searchIndex.search("cafe creme", null, LIMIT));
+        assertEquals(List.of(4L), searchIndex.search("CAFÉ", "kitchen", LIMIT));
+    }
+    
+    @Test
+    void testCategoryFilter() {
+        assertEquals(List.of(1L), searchIndex.search("mouse", "electronics", LIMIT));
+        assertEquals(List.of(2L), searchIndex.search("board", "ELECTRONICS", LIMIT));
+        assertEquals(List.of(), searchIndex.search("keyboard", "Furniture", LIMIT));
+    }
+    
+    @Test
+    void testWildcardsLeftToDatabase() {
+        assertNull(searchIndex.search("100%", null, LIMIT));
+        assertNull(searchIndex.search("a_b", null, LIMIT));
+    }
+    
+    @Test
+    void testReindexAndRemove() {
+        searchIndex.index(product(2L, "Gaming Headset", "Electronics", null, null));
+        assertEquals(List.of(), searchIndex.search("keyboard", null, LIMIT));
+        assertEquals(List.of(2L), searchIndex.search("headset", null, LIMIT));
+        
+        searchIndex.remove(2L);
+        assertEquals(List.of(), searchIndex.search("headset", null, LIMIT));
+        assertEquals(2, searchIndex.size());
+    }
+    
+    private Product product(Long id, String name, String category, String description, String supplier) {
+        Product product = new Product(name, category, description, new BigDecimal("10.00"), 1, supplier);
+        product.setId(id);
+        return product;
+    }
+}
@@ -1,26 +1,59 @@
 package com.productcatalog.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productcatalog.dto.ChangeFeedResponse;
+import com.productcatalog.dto.CursorPageResponse;
+import com.productcatalog.dto.FacetResponse;
+import com.productcatalog.dto.PriceBatchResponse;
+import com.productcatalog.dto.PriceUpdate;
 import com.productcatalog.dto.ProductRequest;
 import com.productcatalog.dto.ProductResponse;
+import com.productcatalog.dto.ProductSummary;
+import com.productcatalog.dto.SliceResponse;
+import com.productcatalog.dto.StockAdjustmentRequest;
+import com.productcatalog.dto.StockAdjustmentResponse;
 import com.productcatalog.entity.Product;
+import com.productcatalog.repository.CategoryCount;
+import com.productcatalog.repository.ChangeLogEntry;
+import com.productcatalog.repository.FacetCount;
+import com.productcatalog.repository.ProductBatchRepository;
+import com.productcatalog.repository.ProductChangeRepository;
 import com.productcatalog.repository.ProductRepository;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ProductServiceTest {
@@ -28,6 +61,42 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
     
+    @Spy
+    private ProductSearchIndex searchIndex = new ProductSearchIndex();
+    
+    @Spy
+    private SuggestionIndex suggestionIndex = new SuggestionIndex();
+    
+    @Mock
+    private ProductCountEstimator countEstimator;
+    
+    @Spy
+    private ProductCache productCache = new ProductCache(100, 60);
+    
+    @Spy
+    private CategoryCounters categoryCounters = new CategoryCounters();
+    
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+    
+    @Mock
+    private StockReservationEngine reservationEngine;
+    
+    @Mock
+    private ProductBatchRepository batchRepository;
+    
+    @Mock
+    private ProductChangeRepository changeRepository;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    
     @InjectMocks
     private ProductService productService;
     
@@ -37,6 +106,8 @@ public class ProductServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(
+            invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(mock(TransactionStatus.class)));
         
         testProduct = new Product(
             "Test Product",
@@ -76,6 +147,156 @@ public class ProductServiceTest {
         assertEquals("Test Product", result.getContent().get(0).getProductName());
     }
     
+    @Test
+    void testGetAllProductsUsesSearchIndex() {
+        // Given
+        searchIndex.index(testProduct);
+        searchIndex.markReady();
+        // Phrase candidates are checked against the full string by primary key
+        when(productRepository.findIdsMatching(List.of(1L), "test prod")).thenReturn(List.of(1L));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(Arrays.asList(testProduct));
+        
+        // When
+        Page<ProductResponse> result = productService.getAllProducts("test prod", null, 0, 10, "id", "asc");
+        
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Product", result.getContent().get(0).getProductName());
+        verify(productRepository).findIdsMatching(List.of(1L), "test prod");
+        verify(productRepository, never()).findProductsWithFilters(any(), any(), any(Pageable.class));
+    }
+    
+    @Test
+    void testGetAllProductsIndexMissSkipsDatabase() {
+        // Given
+        searchIndex.index(testProduct);
+        searchIndex.markReady();
+        
+        // When
+        Page<ProductResponse> result = productService.getAllProducts("keyboard", null, 0, 10, "id", "asc");
+        
+        // Then
+        assertEquals(0, result.getTotalElements());
+        verifyNoInteractions(productRepository);
+    }
+    
+    @Test
+    void testGetProductSliceSkipsCountQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.findSliceWithFilters(any(), any(), any(Pageable.class)))
+            .thenReturn(new SliceImpl<>(Arrays.asList(testProduct), pageable, true));
+        when(countEstimator.estimate(null, "")).thenReturn(42L);
+        
+        // When
+        SliceResponse<ProductResponse> result = productService.getProductSlice("", null, 0, 10, "id", "asc");
+        
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertEquals(42L, result.getApproximateTotal());
+        verify(productRepository, never()).findProductsWithFilters(any(), any(), any(Pageable.class));
+        verify(productRepository, never()).countWithFilters(any(), any());
+    }
+    
+    @Test
+    void testGetProductsAfterReturnsNextCursor() {
+        // Given
+        Product second = new Product("Second", "Electronics", null, new BigDecimal("5.00"), 1, null);
+        second.setId(2L);
+        when(productRepository.findBy(any(Specification.class), any()))
+            .thenReturn(Arrays.asList(testProduct, second));
+        
+        // When
+        CursorPageResponse<ProductResponse> result =
+            productService.getProductsAfter("", null, "", 1, "price", "desc");
+        
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        ProductCursor cursor = ProductCursor.decode(result.getNextCursor());
+        assertEquals("price", cursor.sortBy());
+        assertFalse(cursor.ascending());
+        assertEquals(new BigDecimal("99.99"), cursor.value());
+        assertEquals(1L, cursor.id());
+    }
+    
+    @Test
+    void testSummaryListingsUseProjectionQuery() {
+        // Given
+        ProductSummary first = new ProductSummary(1L, "First", "Electronics", new BigDecimal("9.99"), 3, null, null, null);
+        ProductSummary second = new ProductSummary(2L, "Second", "Electronics", new BigDecimal("5.00"), 1, null, null, null);
+        when(productRepository.findSummaries(any(), any(Sort.class), anyLong(), anyInt()))
+            .thenReturn(Arrays.asList(first, second));
+        when(countEstimator.estimate(null, "")).thenReturn(42L);
+        
+        // When
+        SliceResponse<ProductSummary> slice = productService.getProductSummarySlice("", null, 0, 1, "id", "asc");
+        CursorPageResponse<ProductSummary> cursorPage =
+            productService.getProductSummariesAfter("", null, "", 1, "price", "desc");
+        
+        // Then
+        assertEquals(List.of(first), slice.getContent());
+        assertTrue(slice.isHasNext());
+        assertEquals(List.of(first), cursorPage.getContent());
+        assertEquals(new BigDecimal("9.99"), ProductCursor.decode(cursorPage.getNextCursor()).value());
+        verify(productRepository, times(2)).findSummaries(any(), any(Sort.class), eq(0L), eq(2));
+        verify(productRepository, never()).findSliceWithFilters(any(), any(), any(Pageable.class));
+        verify(productRepository, never()).findBy(any(Specification.class), any());
+    }
+    
+    @Test
+    void testGetFacetsRollsUpGroups() {
+        // Given
+        when(productRepository.countFacets(any(), any())).thenReturn(List.of(
+            new FacetCount("Electronics", "Acme", 0, 2),
+            new FacetCount("Electronics", null, 5, 1),
+            new FacetCount("Books", "Acme", 2, 4)));
+        
+        // When
+        FacetResponse facets = productService.getFacets("", null);
+        
+        // Then
+        assertEquals(7, facets.getTotal());
+        assertEquals(Map.of("Books", 4L, "Electronics", 3L), facets.getCategories());
+        assertEquals(Map.of("Acme", 6L), facets.getSuppliers());
+        assertEquals(6, facets.getPriceBuckets().size());
+        assertNull(facets.getPriceBuckets().get(0).getFrom());
+        assertEquals(2, facets.getPriceBuckets().get(0).getCount());
+        assertEquals(new BigDecimal("25"), facets.getPriceBuckets().get(2).getFrom());
+        assertEquals(4, facets.getPriceBuckets().get(2).getCount());
+        assertNull(facets.getPriceBuckets().get(5).getTo());
+        assertEquals(1, facets.getPriceBuckets().get(5).getCount());
+    }
+    
+    @Test
+    void testGetFacetsCountsCategoriesWithoutTheirOwnFilter() {
+        // Given
+        when(productRepository.countFacets(any(), any())).thenReturn(List.of(
+            new FacetCount("Electronics", "Acme", 0, 2),
+            new FacetCount("Electronics", null, 5, 1),
+            new FacetCount("Books", "Acme", 2, 4)));
+        
+        // When
+        FacetResponse facets = productService.getFacets("", "electronics");
+        
+        // Then
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of("Books", 4L, "Electronics", 3L), facets.getCategories());
+        assertEquals(Map.of("Acme", 2L), facets.getSuppliers());
+        assertEquals(0, facets.getPriceBuckets().get(2).getCount());
+    }
+    
+    @Test
+    void testGetProductsAfterRejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            productService.getProductsAfter("", null, "not-a-cursor", 10, "id", "asc");
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            productService.getProductsAfter("", null, "", 10, "productName", "asc");
+        });
+    }
+    
     @Test
     void testGetProductById() {
         // Given
@@ -90,6 +311,190 @@ public class ProductServiceTest {
         assertEquals("Electronics", result.getCategory());
     }
     
+    @Test
+    void testGetProductByIdServedFromCache() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        
+        // When
+        productService.getProductById(1L);
+        ProductResponse result = productService.getProductById(1L);
+        
+        // Then
+        assertEquals("Test Product", result.getProductName());
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(1, productCache.stats().getHitCount());
+        assertEquals(1, productCache.stats().getMissCount());
+    }
+    
+    @Test
+    void testUpdateProductInvalidatesCache() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        productService.getProductById(1L);
+        
+        // When
+        productService.updateProduct(1L, testProductRequest);
+        productService.getProductById(1L);
+        
+        // Then
+        verify(productCache).invalidate(1L);
+        assertEquals(2, productCache.stats().getMissCount());
+    }
+    
+    @Test
+    void testWritesBumpCatalogVersion() {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        long before = catalogVersion.current();
+        
+        // When
+        productService.createProduct(testProductRequest);
+        productService.updateProduct(1L, testProductRequest);
+        productService.deleteProduct(1L);
+        
+        // Then
+        assertEquals(before + 3, catalogVersion.current());
+        assertNotEquals("\"v" + before + "\"", catalogVersion.etag());
+    }
+    
+    @Test
+    void testAdjustStockUsesConditionalUpdate() {
+        // Given
+        when(productRepository.adjustStock(eq(1L), eq(-3), eq(false), any())).thenReturn(1);
+        when(productRepository.findStockQuantityById(1L)).thenReturn(7);
+        
+        // When
+        StockAdjustmentResponse result = productService.adjustStock(1L, -3, false);
+        
+        // Then
+        assertEquals(7, result.getStockQuantity());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productCache).invalidate(1L);
+    }
+    
+    @Test
+    void testAdjustStockRejectsGoingBelowZero() {
+        // Given
+        when(productRepository.adjustStock(eq(1L), eq(-20), eq(false), any())).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+        
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> productService.adjustStock(1L, -20, false));
+        verify(productCache, never()).invalidate(anyLong());
+    }
+    
+    @Test
+    void testAdjustStockUnknownProduct() {
+        // Given
+        when(productRepository.adjustStock(eq(999L), eq(-1), eq(false), any())).thenReturn(0);
+        when(productRepository.existsById(999L)).thenReturn(false);
+        
+        // When & Then
+        assertThrows(ProductNotFoundException.class, () -> productService.adjustStock(999L, -1, false));
+    }
+    
+    @Test
+    void testAdjustStockGoesThroughEngineWhenEnabled() {
+        // Given
+        when(reservationEngine.isEnabled()).thenReturn(true);
+        when(reservationEngine.adjust(1L, -3, false)).thenReturn(new StockAdjustmentResponse(1L, 4));
+        
+        // When
+        StockAdjustmentResponse result = productService.adjustStock(1L, -3, false);
+        
+        // Then: the engine is the only writer, the database is left to its flush
+        assertEquals(4, result.getStockQuantity());
+        verify(productRepository, never()).adjustStock(anyLong(), anyInt(), anyBoolean(), any());
+        verify(transactionTemplate, never()).execute(any());
+        verify(changeRepository, never()).record(any(), any());
+    }
+    
+    @Test
+    void testAdjustStockBatchMergesLinesInIdOrder() {
+        // Given
+        when(productRepository.adjustStock(anyLong(), anyInt(), anyBoolean(), any())).thenReturn(1);
+        when(productRepository.findStockQuantityById(anyLong())).thenReturn(5);
+        List<StockAdjustmentRequest> items = List.of(
+            new StockAdjustmentRequest(9L, -1),
+            new StockAdjustmentRequest(2L, -2),
+            new StockAdjustmentRequest(9L, -4));
+        
+        // When
+        List<StockAdjustmentResponse> results = productService.adjustStock(items);
+        
+        // Then
+        assertEquals(List.of(2L, 9L), results.stream().map(StockAdjustmentResponse::getProductId).toList());
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).adjustStock(eq(2L), eq(-2), eq(false), any());
+        inOrder.verify(productRepository).adjustStock(eq(9L), eq(-5), eq(false), any());
+    }
+    
+    @Test
+    void testPatchProductChangesOnlyPatchedFields() throws Exception {
+        // Given
+        testProduct.setDescription("Long description");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        ProductResponse result = productService.patchProduct(1L, objectMapper.readTree("{\"price\": 79.50, \"supplier\": null}"));
+        
+        // Then
+        assertEquals(0, new BigDecimal("79.50").compareTo(result.getPrice()));
+        assertNull(result.getSupplier());
+        assertEquals(testProduct.getProductName(), result.getProductName());
+        assertEquals("Long description", result.getDescription());
+        verify(reservationEngine, never()).rebase(anyLong(), anyInt());
+    }
+    
+    @Test
+    void testPatchProductRejectsInvalidResult() throws Exception {
+        // Given
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        
+        // When & Then
+        assertThrows(ConstraintViolationException.class,
+            () -> productService.patchProduct(1L, objectMapper.readTree("{\"productName\": null}")));
+        assertThrows(IllegalArgumentException.class,
+            () -> productService.patchProduct(1L, objectMapper.readTree("{\"id\": 5}")));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+    
+    @Test
+    void testPatchProductNotFound() {
+        // Given
+        when(productRepository.findById(999L)).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThrows(ProductNotFoundException.class,
+            () -> productService.patchProduct(999L, objectMapper.readTree("{\"price\": 1.00}")));
+    }
+    
+    @Test
+    void testUpdatePricesSkipsMissingProducts() {
+        // Given
+        when(productRepository.findExistingIds(any())).thenReturn(List.of(1L, 3L));
+        List<PriceUpdate> items = List.of(
+            new PriceUpdate(3L, new BigDecimal("5.00")),
+            new PriceUpdate(2L, new BigDecimal("6.00")),
+            new PriceUpdate(1L, new BigDecimal("7.00")),
+            new PriceUpdate(3L, new BigDecimal("8.00")));
+        
+        // When
+        PriceBatchResponse result = productService.updatePrices(items);
+        
+        // Then
+        assertEquals(4, result.getRequested());
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(batchRepository).updatePrices(
+            eq(new TreeMap<>(Map.of(1L, new BigDecimal("7.00"), 3L, new BigDecimal("8.00")))), any());
+    }
+    
     @Test
     void testGetProductByIdNotFound() {
         // Given
@@ -113,6 +518,7 @@ public class ProductServiceTest {
         assertNotNull(result);
         assertEquals("Test Product", result.getProductName());
         verify(productRepository, times(1)).save(any(Product.class));
+        assertEquals(List.of(1L), searchIndex.search("description", null, 100));
     }
     
     @Test
@@ -141,6 +547,68 @@ public class ProductServiceTest {
         
         // Then
         verify(productRepository, times(1)).delete(testProduct);
+        verify(searchIndex).remove(1L);
+        verify(changeRepository).record(ProductChangeRepository.DELETE, List.of(1L));
+    }
+    
+    @Test
+    void testChangesCarryCurrentProductAndResumePoint() {
+        // Given: product 1 updated, product 2 deleted since, one more change waiting
+        LocalDateTime now = LocalDateTime.now();
+        when(changeRepository.findSince(5L, 3)).thenReturn(List.of(
+            new ChangeLogEntry(6L, 1L, ProductChangeRepository.UPDATE, now),
+            new ChangeLogEntry(7L, 2L, ProductChangeRepository.DELETE, now),
+            new ChangeLogEntry(8L, 1L, ProductChangeRepository.UPDATE, now)));
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct));
+        
+        // When
+        ChangeFeedResponse result = productService.getChanges(5L, 2);
+        
+        // Then
+        assertEquals(2, result.getChanges().size());
+        assertEquals("Test Product", result.getChanges().get(0).getProduct().getProductName());
+        assertEquals(ProductChangeRepository.DELETE, result.getChanges().get(1).getType());
+        assertNull(result.getChanges().get(1).getProduct());
+        assertEquals(7L, result.getNextSince());
+        assertTrue(result.isHasMore());
+        
+        // And: an empty page resumes from the same point
+        assertEquals(9L, productService.getChanges(9L, 2).getNextSince());
+        assertThrows(IllegalArgumentException.class, () -> productService.getChanges(-1L, 2));
+    }
+    
+    @Test
+    void testCountsServedFromCounters() {
+        // Given
+        categoryCounters.reset(List.of(categoryCount("Electronics", 5), categoryCount("Books", 2)));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        
+        // When
+        productService.createProduct(testProductRequest);
+        
+        // Then
+        assertEquals(8, productService.getTotalCount());
+        assertEquals(6, productService.getCountByCategory("electronics"));
+        assertEquals(0, productService.getCountByCategory("Toys"));
+        verify(productRepository, never()).count();
+        verify(productRepository, never()).countByCategory(any());
+    }
+    
+    @Test
+    void testUpdateProductMovesCategoryCount() {
+        // Given
+        categoryCounters.reset(List.of(categoryCount("Electronics", 1)));
+        testProductRequest.setCategory("Books");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        
+        // When
+        productService.updateProduct(1L, testProductRequest);
+        
+        // Then
+        assertEquals(1, productService.getTotalCount());
+        assertEquals(0, productService.getCountByCategory("Electronics"));
+        assertEquals(1, productService.getCountByCategory("Books"));
     }
     
     @Test
@@ -153,4 +621,18 @@ public class ProductServiceTest {
             productService.deleteProduct(999L);
         });
     }
+    
+    private CategoryCount categoryCount(String category, long total) {
+        return new CategoryCount() {
+            @Override
+            public String getCategory() {
+                return category;
+            }
+            
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
 }
@@ -0,0 +1,183 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.StockAdjustmentResponse;
+import com.productcatalog.entity.StockFlushCheckpoint;
+import com.productcatalog.repository.ProductChangeRepository;
+import com.productcatalog.repository.ProductRepository;
+import com.productcatalog.repository.StockFlushCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class StockReservationEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockFlushCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ProductChangeRepository changeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ProductCache productCache = new ProductCache(100, 60);
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion();
+
+    @InjectMocks
+    private StockReservationEngine engine;
+
+    @TempDir
+    Path journalDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(productRepository.findStockQuantityById(1L)).thenReturn(10);
+        configure(engine);
+        engine.init();
+    }
+
+    @Test
+    void testReservationsServedFromMemoryAndFlushedAsQuantity() {
+        // When
+        assertEquals(7, engine.adjust(1L, -3, false).getStockQuantity());
+        assertEquals(5, engine.adjust(1L, -2, false).getStockQuantity());
+        assertThrows(InsufficientStockException.class, () -> engine.adjust(1L, -6, false));
+        assertEquals(6, engine.adjust(1L, 1, true).getStockQuantity());
+
+        // Then: one read to load the product, then nothing until the flush
+        verify(productRepository, times(1)).findStockQuantityById(1L);
+        verify(productRepository, never()).setStock(any(), anyInt(), any());
+
+        engine.flush();
+        verify(productRepository).adjustStock(eq(1L), eq(-4), eq(true), any());
+        verify(productRepository, never()).setStock(any(), anyInt(), any());
+        ArgumentCaptor<StockFlushCheckpoint> checkpoint = ArgumentCaptor.forClass(StockFlushCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(3L, checkpoint.getValue().getLastSequence());
+        verify(changeRepository).record(ProductChangeRepository.UPDATE, Set.of(1L));
+    }
+
+    @Test
+    void testUnknownProductRejected() {
+        // Given
+        when(productRepository.findStockQuantityById(99L)).thenReturn(null);
+
+        // When & Then
+        assertThrows(ProductNotFoundException.class, () -> engine.adjust(99L, -1, false));
+        assertThrows(ProductNotFoundException.class, () -> engine.adjust(99L, 1, true));
+    }
+
+    @Test
+    void testRebasedStockFlushedAsAbsoluteValue() {
+        // Given: a full update replaced the stock between reservations
+        engine.adjust(1L, -2, false);
+        engine.rebase(1L, 20);
+        engine.adjust(1L, -1, false);
+
+        // When
+        engine.flush();
+
+        // Then
+        verify(productRepository).setStock(eq(1L), eq(19), any());
+        verify(productRepository, never()).adjustStock(any(), anyInt(), anyBoolean(), any());
+    }
+
+    @Test
+    void testBatchAdjustAppliesAllLinesOrNone() {
+        // Given
+        when(productRepository.findStockQuantityById(2L)).thenReturn(1);
+
+        // When
+        assertThrows(InsufficientStockException.class,
+            () -> engine.adjust(Map.of(1L, -3, 2L, -5), Map.of(1L, false, 2L, false)));
+        List<StockAdjustmentResponse> results = engine.adjust(Map.of(1L, -3, 2L, 4), Map.of(1L, false, 2L, false));
+
+        // Then
+        assertEquals(List.of(7, 5), results.stream().map(StockAdjustmentResponse::getStockQuantity).toList());
+        engine.flush();
+        verify(productRepository).adjustStock(eq(1L), eq(-3), eq(true), any());
+        verify(productRepository).adjustStock(eq(2L), eq(4), eq(true), any());
+    }
+
+    @Test
+    void testBatchLeavesNothingBehindWhenAJournalWriteFails() throws Exception {
+        // Given: product 2's stripe can no longer be written
+        when(productRepository.findStockQuantityById(2L)).thenReturn(1);
+        Object[] stripes = (Object[]) ReflectionTestUtils.getField(engine, "stripes");
+        ((FileChannel) ReflectionTestUtils.getField(stripes[2], "channel")).close();
+
+        // When
+        assertThrows(RuntimeException.class,
+            () -> engine.adjust(Map.of(1L, -3, 2L, 4), Map.of(1L, false, 2L, false)));
+
+        // Then: product 1's line, written first, is neither applied nor left in its journal
+        assertEquals(10, engine.adjust(1L, 0, false).getStockQuantity());
+        engine.flush();
+        verify(productRepository).adjustStock(eq(1L), eq(0), eq(true), any());
+        verify(productRepository, never()).adjustStock(eq(1L), eq(-3), anyBoolean(), any());
+        assertTrue(Files.readString(journalDir.resolve("stripe-1.journal")).startsWith("1,1,0\n"));
+    }
+
+    @Test
+    void testUnflushedReservationsReplayedOnRestart() throws Exception {
+        // Given: reservations journaled but never flushed, as after a crash
+        engine.adjust(1L, -3, false);
+        engine.adjust(1L, -2, false);
+
+        // When
+        StockReservationEngine restarted = new StockReservationEngine();
+        ReflectionTestUtils.setField(restarted, "productRepository", productRepository);
+        ReflectionTestUtils.setField(restarted, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(restarted, "changeRepository", changeRepository);
+        ReflectionTestUtils.setField(restarted, "transactionTemplate", transactionTemplate);
+        configure(restarted);
+        restarted.init();
+
+        // Then
+        verify(productRepository).adjustStock(eq(1L), eq(-5), eq(true), any());
+        verify(checkpointRepository).save(any(StockFlushCheckpoint.class));
+    }
+
+    private void configure(StockReservationEngine target) {
+        ReflectionTestUtils.setField(target, "enabled", true);
+        ReflectionTestUtils.setField(target, "stripeCount", 4);
+        ReflectionTestUtils.setField(target, "journalDir", journalDir.toString());
+    }
+}
@@ -0,0 +1,87 @@
+package com.productcatalog.service;
+
+import com.productcatalog.dto.Suggestion;
+import com.productcatalog.entity.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SuggestionIndexTest {
+    
+    private SuggestionIndex suggestionIndex;
+    
+    @BeforeEach
+    void setUp() {
+        suggestionIndex = new SuggestionIndex();
+        suggestionIndex.index(product(1L, "Wireless Mouse", "Electronics", "Logi", 5));
+        suggestionIndex.index(product(2L, "Mouse Pad", "Electronics", null, 40));
+        suggestionIndex.index(product(3L, "Crème Brûlée Torch", "Kitchen", "Logi", 0));
+    }
+    
+    @Test
+    void testMatchesWordStartsRankedByStock() {
+        assertEquals(List.of("Mouse Pad", "Wireless Mouse"), texts(suggestionIndex.suggest("mou", 10)));
+        assertEquals(List.of("Mouse Pad"), texts(suggestionIndex.suggest("MOUSE  p", 10)));
+        assertEquals(List.of("Crème Brûlée Torch"), texts(suggestionIndex.suggest("creme bru", 10)));
+        assertEquals(List.of(), suggestionIndex.suggest("ouse", 10));
+    }
+    
+    @Test
+    void testCategoriesAndSuppliersRankedByProductCount() {
+        List<Suggestion> suggestions = suggestionIndex.suggest("l", 10);
+        
+        assertEquals("Logi", suggestions.get(0).getText());
+        assertEquals(Suggestion.SUPPLIER, suggestions.get(0).getType());
+        assertNull(suggestions.get(0).getProductId());
+        assertEquals(List.of("Electronics"), texts(suggestionIndex.suggest("e", 1)));
+    }
+    
+    @Test
+    void testSuggestionsFollowWrites() {
+        assertEquals(List.of("Mouse Pad", "Wireless Mouse"), texts(suggestionIndex.suggest("m", 10)));
+        
+        suggestionIndex.updateStock(1L, 100);
+        assertEquals(List.of("Wireless Mouse", "Mouse Pad"), texts(suggestionIndex.suggest("m", 10)));
+        
+        suggestionIndex.index(product(2L, "Desk Pad", "Office", null, 40));
+        suggestionIndex.remove(1L);
+        assertEquals(List.of(), suggestionIndex.suggest("m", 10));
+        assertEquals(List.of("Office"), texts(suggestionIndex.suggest("of", 10)));
+        assertEquals(List.of(), suggestionIndex.suggest("el", 10));
+    }
+    
+    @Test
+    void testLargePrefixRangesKeptRankedAcrossWrites() {
+        // Given: enough "Cable" products for "ca" to get a maintained node
+        for (long id = 10; id < 410; id++) {
+            suggestionIndex.index(product(id, "Cable " + id, "Cables", null, (int) id - 10));
+        }
+        assertEquals(List.of("Cables", "Cable 409", "Cable 408"), texts(suggestionIndex.suggest("ca", 3)));
+        int nodes = suggestionIndex.nodeCount();
+        assertTrue(nodes > 0);
+        
+        // When: the leaders sell out and a newcomer overtakes everything
+        for (long id = 370; id < 410; id++) {
+            suggestionIndex.updateStock(id, 0);
+        }
+        suggestionIndex.index(product(500L, "Cable Tie", "Cables", null, 1000));
+        
+        // Then
+        assertEquals(List.of("Cable Tie", "Cables", "Cable 369", "Cable 368"), texts(suggestionIndex.suggest("ca", 4)));
+        assertEquals(nodes, suggestionIndex.nodeCount());
+    }
+    
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getText).toList();
+    }
+    
+    private Product product(Long id, String name, String category, String supplier, int stock) {
+        Product product = new Product(name, category, null, new BigDecimal("10.00"), stock, supplier);
+        product.setId(id);
+        return product;
+    }
+}
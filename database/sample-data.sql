@@ -0,0 +1,15 @@
+-- Sample products (prices in Indian Rupees)
+-- Run after the backend has started once, so the Flyway migrations have created the tables,
+-- then restart the backend: search, typeahead and count indexes are built at startup.
+INSERT INTO products (product_name, description, price, category, stock_quantity, supplier, created_at, updated_at) VALUES
+('Gaming Laptop', 'High-performance gaming laptop with RTX graphics', 82999.00, 'Electronics', 10, NULL, NOW(6), NOW(6)),
+('Smartphone', 'Latest Android smartphone with 5G connectivity', 57999.00, 'Electronics', 25, NULL, NOW(6), NOW(6)),
+('Wireless Headphones', 'Premium noise-cancelling wireless headphones', 16999.00, 'Electronics', 15, NULL, NOW(6), NOW(6)),
+('Cotton T-Shirt', 'Comfortable cotton t-shirt available in multiple colors', 2499.00, 'Clothing', 50, NULL, NOW(6), NOW(6)),
+('Denim Jeans', 'Classic blue denim jeans with modern fit', 6699.00, 'Clothing', 30, NULL, NOW(6), NOW(6));
+
+-- Rows inserted here bypass the API, so log them for GET /products/changes as well
+INSERT INTO product_changes (product_id, change_type)
+SELECT p.id, 'CREATE' FROM products p
+WHERE NOT EXISTS (SELECT 1 FROM product_changes c WHERE c.product_id = p.id)
+ORDER BY p.id;